@@ -0,0 +1,98 @@
+package nl.tudelft.jpacman.benchmark;
+
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.board.Unit;
+import nl.tudelft.jpacman.level.CollisionMap;
+import nl.tudelft.jpacman.level.DefaultPlayerInteractionMap;
+import nl.tudelft.jpacman.level.LevelFactory;
+import nl.tudelft.jpacman.level.Pellet;
+import nl.tudelft.jpacman.level.Player;
+import nl.tudelft.jpacman.level.PlayerCollisions;
+import nl.tudelft.jpacman.level.PlayerFactory;
+import nl.tudelft.jpacman.npc.Ghost;
+import nl.tudelft.jpacman.npc.ghost.GhostFactory;
+import nl.tudelft.jpacman.points.PointCalculator;
+import nl.tudelft.jpacman.sprite.PacManSprites;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Compares the time it takes to dispatch collisions through the
+ * class-based {@link DefaultPlayerInteractionMap} with the hand-written
+ * {@link PlayerCollisions}. The results are printed to standard out.
+ */
+@Disabled
+class CollisionDispatchBenchmark {
+    private static final int WARM_UP = 1_000_000;
+    private static final int ROUNDS = 10_000_000;
+
+    private Unit[] units;
+
+    /**
+     * Creates a player, a ghost and a pellet to collide.
+     */
+    @BeforeEach
+    void setUp() {
+        PacManSprites sprites = new PacManSprites();
+        GhostFactory ghosts = new GhostFactory(sprites);
+        Player player = new PlayerFactory(sprites).createPacMan();
+        Ghost ghost = ghosts.createBlinky();
+        Pellet pellet = new LevelFactory(sprites, ghosts, new NoPoints()).createPellet();
+        units = new Unit[] {player, ghost, pellet};
+    }
+
+    /**
+     * Dispatches through the collision interaction map.
+     */
+    @Test
+    void interactionMap() {
+        measure("interaction map", new DefaultPlayerInteractionMap(new NoPoints()));
+    }
+
+    /**
+     * Dispatches through the hand-written player collisions.
+     */
+    @Test
+    void playerCollisions() {
+        measure("player collisions", new PlayerCollisions(new NoPoints()));
+    }
+
+    private void measure(String name, CollisionMap collisions) {
+        for (int i = 0; i < WARM_UP; i++) {
+            collide(collisions, i);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            collide(collisions, i);
+        }
+        long nanos = System.nanoTime() - start;
+        System.out.printf("%s: %.1f ns per collision%n", name, (double) nanos / ROUNDS);
+    }
+
+    private void collide(CollisionMap collisions, int round) {
+        Unit mover = units[round % units.length];
+        Unit collidee = units[(round / units.length) % units.length];
+        collisions.collide(mover, collidee);
+    }
+
+    /**
+     * A calculator that does not keep score, so only the dispatch is measured.
+     */
+    private static final class NoPoints implements PointCalculator {
+        @Override
+        public void collidedWithAGhost(Player player, Ghost ghost) {
+            // no points
+        }
+
+        @Override
+        public void consumedAPellet(Player player, Pellet pellet) {
+            // no points
+        }
+
+        @Override
+        public void pacmanMoved(Player player, Direction direction) {
+            // no points
+        }
+    }
+}
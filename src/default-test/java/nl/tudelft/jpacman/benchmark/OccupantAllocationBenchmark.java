@@ -0,0 +1,104 @@
+package nl.tudelft.jpacman.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+import nl.tudelft.jpacman.Launcher;
+import nl.tudelft.jpacman.board.Board;
+import nl.tudelft.jpacman.board.Unit;
+import nl.tudelft.jpacman.npc.ghost.Blinky;
+import nl.tudelft.jpacman.npc.ghost.Navigation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Measures how many bytes the hot paths reading the occupants of squares
+ * allocate: walking all occupants of the board, as done for every frame that
+ * is rendered, and looking up a unit on every square, as done by the ghosts.
+ * The results are printed to standard out.
+ * <p>
+ * Relies on the allocation counters of HotSpot, so it is disabled by default.
+ */
+@Disabled
+class OccupantAllocationBenchmark {
+    private static final int WARM_UP = 20_000;
+    private static final int ROUNDS = 50_000;
+
+    private Board board;
+
+    /**
+     * Loads the default board.
+     */
+    @BeforeEach
+    void setUp() {
+        board = new Launcher().makeGame().getLevel().getBoard();
+    }
+
+    /**
+     * Walks the occupants of all squares, like the board panel does.
+     */
+    @Test
+    void walkOccupants() {
+        measure("walk occupants", () -> {
+            int units = 0;
+            for (int x = 0; x < board.getWidth(); x++) {
+                for (int y = 0; y < board.getHeight(); y++) {
+                    List<Unit> occupants = board.squareAt(x, y).getOccupants();
+                    for (int i = 0; i < occupants.size(); i++) {
+                        units += occupants.get(i).hashCode() & 1;
+                    }
+                }
+            }
+            return units;
+        });
+    }
+
+    /**
+     * Looks for a unit on every square, like the searches of the ghosts do.
+     */
+    @Test
+    void findUnits() {
+        measure("find units", () -> {
+            int units = 0;
+            for (int x = 0; x < board.getWidth(); x++) {
+                for (int y = 0; y < board.getHeight(); y++) {
+                    if (Navigation.findUnit(Blinky.class, board.squareAt(x, y)) != null) {
+                        units++;
+                    }
+                }
+            }
+            return units;
+        });
+    }
+
+    private static void measure(String name, Round round) {
+        com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        long sink = 0;
+        for (int i = 0; i < WARM_UP; i++) {
+            sink += round.run();
+        }
+        long bytes = threads.getThreadAllocatedBytes(thread);
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            sink += round.run();
+        }
+        long nanos = System.nanoTime() - start;
+        bytes = threads.getThreadAllocatedBytes(thread) - bytes;
+        System.out.printf("%s: %d bytes and %d ns per round (%d)%n",
+            name, bytes / ROUNDS, nanos / ROUNDS, sink);
+    }
+
+    /**
+     * A single round of the benchmark.
+     */
+    private interface Round {
+        /**
+         * @return A value depending on the work done, so it is not optimised
+         *         away.
+         */
+        int run();
+    }
+}
@@ -8,7 +8,6 @@ import nl.tudelft.jpacman.board.Square;
 import nl.tudelft.jpacman.board.Unit;
 import nl.tudelft.jpacman.level.LevelFactory;
 import nl.tudelft.jpacman.level.MapParser;
-import nl.tudelft.jpacman.level.Pellet;
 import nl.tudelft.jpacman.npc.Ghost;
 import nl.tudelft.jpacman.points.PointCalculator;
 import nl.tudelft.jpacman.sprite.PacManSprites;
@@ -118,17 +117,56 @@ class NavigationTest {
         assertThat(path).containsExactly(Direction.EAST, Direction.SOUTH);
     }
 
+    /**
+     * Verifies that only the first step of a path around a corner is given.
+     */
+    @Test
+    void testFirstStep() {
+        Board b = parser.parseMap(
+            Lists.newArrayList("####", "#  #", "## #", "####")).getBoard();
+        Square s1 = b.squareAt(1, 1);
+        Square s2 = b.squareAt(2, 2);
+        Direction step = Navigation.firstStep(s1, s2, mock(Unit.class));
+        assertThat(step).isEqualTo(Direction.EAST);
+    }
+
+    /**
+     * Verifies that there is no first step if no path exists.
+     */
+    @Test
+    void testNoFirstStep() {
+        Board b = parser
+            .parseMap(Lists.newArrayList("#####", "# # #", "#####"))
+            .getBoard();
+        Square s1 = b.squareAt(1, 1);
+        Square s2 = b.squareAt(3, 1);
+        assertThat(Navigation.firstStep(s1, s2, mock(Unit.class))).isNull();
+    }
+
+    /**
+     * Verifies that the search reports the length of the path found.
+     */
+    @Test
+    void testPathLength() {
+        Board b = parser.parseMap(
+            Lists.newArrayList("####", "#  #", "## #", "####")).getBoard();
+        PathSearch search = PathSearch.forCurrentThread();
+        assertThat(search.search(b.squareAt(1, 1), b.squareAt(2, 2), mock(Unit.class)))
+            .isTrue();
+        assertThat(search.pathLength()).isEqualTo(2);
+    }
+
     /**
      * Verifies that the nearest object is detected.
      */
     @Test
     void testNearestUnit() {
         Board b = parser
-            .parseMap(Lists.newArrayList("#####", "# ..#", "#####"))
+            .parseMap(Lists.newArrayList("#####", "# GG#", "#####"))
             .getBoard();
         Square s1 = b.squareAt(1, 1);
         Square s2 = b.squareAt(2, 1);
-        Square result = Navigation.findNearest(Pellet.class, s1).getSquare();
+        Square result = Navigation.findNearest(Ghost.class, s1).getSquare();
         assertThat(result).isEqualTo(s2);
     }
 
@@ -139,7 +177,7 @@ class NavigationTest {
     void testNoNearestUnit() {
         Board b = parser.parseMap(Lists.newArrayList(" ")).getBoard();
         Square s1 = b.squareAt(0, 0);
-        Unit unit = Navigation.findNearest(Pellet.class, s1);
+        Unit unit = Navigation.findNearest(Ghost.class, s1);
         assertThat(unit).isNull();
     }
 
@@ -3,6 +3,7 @@ package nl.tudelft.jpacman.sprite;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.awt.image.BufferedImage;
 import java.io.IOException;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -109,4 +110,72 @@ public class SpriteTest {
         Sprite split = sprite.split(10, 10, 64, 10);
         assertThat(split).isInstanceOf(EmptySprite.class);
     }
+
+    /**
+     * Verifies that splitting the same region twice gives the same sprite, so
+     * that it takes a single slot in the atlas.
+     */
+    @Test
+    public void splitSharesRegion() {
+        assertThat(sprite.split(16, 0, 16, 16)).isSameAs(sprite.split(16, 0, 16, 16));
+    }
+
+    /**
+     * Verifies that a sprite is drawn scaled from the atlas, which is scaled
+     * once per size.
+     */
+    @Test
+    public void drawScaledFromAtlas() {
+        BufferedImage canvas = new BufferedImage(40, 40, BufferedImage.TYPE_INT_ARGB);
+        Sprite quarter = sprite.split(0, 0, 32, 32);
+
+        quarter.draw(canvas.getGraphics(), 5, 5, 20, 20);
+        quarter.draw(canvas.getGraphics(), 5, 5, 20, 20);
+
+        assertThat(canvas.getRGB(5, 5)).isEqualTo(0xFFFFFFFF);
+        assertThat(canvas.getRGB(24, 24)).isEqualTo(0xFFFFFFFF);
+        assertThat(canvas.getRGB(25, 25)).isZero();
+        assertThat(store.getAtlas().getSlotCount()).isEqualTo(1);
+        assertThat(store.getAtlas().getCachedSizes()).isEqualTo(1);
+    }
+
+    /**
+     * Verifies that animations only advance when their clock ticks, and that
+     * a long pause does not make them step through every frame due since.
+     */
+    @Test
+    public void animationFollowsClock() {
+        long[] time = {0L};
+        FrameClock clock = new FrameClock(() -> time[0]);
+        AnimatedSprite animation = new SpriteStore(clock).createAnimatedSprite(sprite, 4, 100,
+            true);
+        animation.setAnimating(true);
+
+        time[0] = 250L;
+        assertThat(animation.getFrame()).isZero();
+        clock.tick();
+        assertThat(animation.getFrame()).isEqualTo(3);
+
+        time[0] += 400L * Integer.MAX_VALUE;
+        clock.tick();
+        assertThat(animation.getFrame()).isEqualTo(3);
+    }
+
+    /**
+     * Verifies that an animation that does not loop ends after its last
+     * frame.
+     */
+    @Test
+    public void animationEnds() {
+        long[] time = {0L};
+        FrameClock clock = new FrameClock(() -> time[0]);
+        AnimatedSprite animation = new SpriteStore(clock).createAnimatedSprite(sprite, 4, 100,
+            false);
+        animation.restart();
+
+        time[0] = 100_000L;
+        clock.tick();
+        assertThat(animation.getFrame()).isEqualTo(4);
+        assertThat(animation.getWidth()).isZero();
+    }
 }
@@ -10,9 +10,12 @@ import nl.tudelft.jpacman.game.Game;
 import nl.tudelft.jpacman.game.GameFactory;
 import nl.tudelft.jpacman.level.Level;
 import nl.tudelft.jpacman.level.LevelFactory;
+import nl.tudelft.jpacman.level.LevelTemplateCache;
 import nl.tudelft.jpacman.level.MapParser;
 import nl.tudelft.jpacman.level.Player;
 import nl.tudelft.jpacman.level.PlayerFactory;
+import nl.tudelft.jpacman.level.TickScheduler;
+import nl.tudelft.jpacman.npc.DistanceTable;
 import nl.tudelft.jpacman.npc.ghost.GhostFactory;
 import nl.tudelft.jpacman.points.PointCalculator;
 import nl.tudelft.jpacman.points.PointCalculatorLoader;
@@ -31,12 +34,20 @@ public class Launcher {
 
     private static final PacManSprites SPRITE_STORE = new PacManSprites();
 
+    private static final LevelTemplateCache LEVEL_TEMPLATES = new LevelTemplateCache();
+
     public static final String DEFAULT_MAP = "/board.txt";
     private String levelMap = DEFAULT_MAP;
 
     private PacManUI pacManUI;
     private Game game;
 
+    /**
+     * The scheduler driving the NPCs of the created levels, or
+     * <code>null</code> if every level gets a scheduler of its own.
+     */
+    private TickScheduler scheduler;
+
     /**
      * @return The game object this launcher will start when {@link #launch()}
      *         is called.
@@ -75,6 +86,21 @@ public class Launcher {
         return this;
     }
 
+    /**
+     * Lets the NPCs of all levels created from now on be driven by the given
+     * scheduler, e.g. {@link TickScheduler#manual()} to play the games in a
+     * {@link nl.tudelft.jpacman.simulation.Simulation}.
+     *
+     * @param npcScheduler
+     *            The scheduler to use, or <code>null</code> to give every
+     *            level a scheduler of its own.
+     * @return This launcher.
+     */
+    public Launcher withScheduler(TickScheduler npcScheduler) {
+        this.scheduler = npcScheduler;
+        return this;
+    }
+
     /**
      * Creates a new game using the level from {@link #makeLevel()}.
      *
@@ -93,13 +119,15 @@ public class Launcher {
 
     /**
      * Creates a new level. By default this method will use the map parser to
-     * parse the default board stored in the <code>board.txt</code> resource.
+     * create a level of the default board stored in the
+     * <code>board.txt</code> resource, which is parsed only once by
+     * {@link #getLevelTemplates()}.
      *
      * @return A new level.
      */
     public Level makeLevel() {
         try {
-            return getMapParser().parseMap(getLevelMap());
+            return getMapParser().parseMap(getLevelTemplates().get(getLevelMap()));
         } catch (IOException e) {
             throw new PacmanConfigurationException(
                     "Unable to create level, name = " + getLevelMap(), e);
@@ -114,6 +142,13 @@ public class Launcher {
         return new MapParser(getLevelFactory(), getBoardFactory());
     }
 
+    /**
+     * @return The cache of the maps read by all launchers.
+     */
+    protected LevelTemplateCache getLevelTemplates() {
+        return LEVEL_TEMPLATES;
+    }
+
     /**
      * @return A new board factory using the sprite store from
      *         {@link #getSpriteStore()}.
@@ -131,10 +166,16 @@ public class Launcher {
 
     /**
      * @return A new factory using the sprites from {@link #getSpriteStore()}
-     *         and the ghosts from {@link #getGhostFactory()}.
+     *         and the ghosts from {@link #getGhostFactory()}, which precomputes
+     *         the paths on boards of up to
+     *         {@link DistanceTable#DEFAULT_CELL_LIMIT} squares.
      */
     protected LevelFactory getLevelFactory() {
-        return new LevelFactory(getSpriteStore(), getGhostFactory(), loadPointCalculator());
+        LevelFactory factory = new LevelFactory(getSpriteStore(), getGhostFactory(),
+            loadPointCalculator());
+        factory.setDistanceTableLimit(DistanceTable.DEFAULT_CELL_LIMIT);
+        factory.setScheduler(scheduler);
+        return factory;
     }
 
     /**
@@ -191,7 +232,8 @@ public class Launcher {
      */
     public void launch() {
         makeGame();
-        PacManUiBuilder builder = new PacManUiBuilder().withDefaultButtons();
+        PacManUiBuilder builder = new PacManUiBuilder().withDefaultButtons()
+            .withClock(getSpriteStore().getClock());
         addSinglePlayerKeys(builder);
         pacManUI = builder.build(getGame());
         pacManUI.start();
@@ -1,4 +1,5 @@
 package nl.tudelft.jpacman;
+import java.util.function.Supplier;
 import nl.tudelft.jpacman.game.MultiLevelSinglePlayerGame;
 import nl.tudelft.jpacman.level.Level;
 import nl.tudelft.jpacman.level.Player;
@@ -43,13 +44,22 @@ public class MultiLevelLauncher extends Launcher {
 
 
     /**
-     * Add a series of levels to this multi-level game.
+     * Add a series of levels to this multi-level game, each of which is
+     * created when the level before it is being played.
      */
     public void addLevels() {
 // Just add the same level three times.
-        addLevel(makeLevel());
-        addLevel(makeLevel());
-        addLevel(makeLevel());
+        addLevel(this::makeLevel);
+        addLevel(this::makeLevel);
+        addLevel(this::makeLevel);
+    }
+    /**
+     * Add a level to this game that is created in the background, once the
+     * level before it is being played.
+     * @param supplier The supplier creating the level to be added.
+     */
+    public void addLevel(Supplier<Level> supplier) {
+        multiGame.addLevel(supplier);
     }
     /**
      * Add one particular level to this game.
@@ -1,8 +1,16 @@
 package nl.tudelft.jpacman.board;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
- * A top-down view of a matrix of {@link Square}s.
+ * A top-down view of a matrix of {@link Square}s. Every square is connected
+ * to the squares next to it, and the edges of the board wrap around, so
+ * leaving the board on one side leads back onto it on the opposite side.
  *
  * @author Jeroen Roosen 
  */
@@ -13,6 +21,11 @@ public class Board {
      */
     private final Square[][] board;
 
+    /**
+     * The units occupying a square of this board, by their class.
+     */
+    private final Map<Class<? extends Unit>, Set<Unit>> units = new LinkedHashMap<>();
+
     /**
      * Creates a new board.
      *
@@ -25,6 +38,11 @@ public class Board {
         assert grid != null;
         this.board = grid;
         assert invariant() : "Initial grid cannot contain null squares";
+        for (int x = 0; x < grid.length; x++) {
+            for (int y = 0; y < grid[x].length; y++) {
+                grid[x][y].place(this, x, y);
+            }
+        }
     }
 
     /**
@@ -79,6 +97,117 @@ public class Board {
         return result;
     }
 
+    /**
+     * Returns the square next to the given position, wrapping around at the
+     * edges of the board.
+     *
+     * @param x
+     *            The <code>x</code> position (column) to start from.
+     * @param y
+     *            The <code>y</code> position (row) to start from.
+     * @param direction
+     *            The direction of the neighbour.
+     * @return The neighbouring square.
+     */
+    Square neighbourOf(int x, int y, Direction direction) {
+        int column = wrap(x + direction.getDeltaX(), getWidth());
+        int row = wrap(y + direction.getDeltaY(), getHeight());
+        return board[column][row];
+    }
+
+    private static int wrap(int coordinate, int size) {
+        if (coordinate < 0) {
+            return coordinate + size;
+        }
+        if (coordinate >= size) {
+            return coordinate - size;
+        }
+        return coordinate;
+    }
+
+    /**
+     * Returns the number of squares on this board. Squares are numbered from
+     * <code>0</code> up to this number, see {@link #indexOf(Square)}.
+     *
+     * @return The number of squares on this board.
+     */
+    public int getSize() {
+        return getWidth() * getHeight();
+    }
+
+    /**
+     * Returns the number of a square on this board, which is unique on this
+     * board and in the range <code>[0, getSize())</code>.
+     *
+     * Precondition: The square is part of this board.
+     *
+     * @param square
+     *            The square to number.
+     * @return The index of the square.
+     */
+    public int indexOf(Square square) {
+        assert square.getBoard() == this;
+        return square.getX() * getHeight() + square.getY();
+    }
+
+    /**
+     * Returns the square with the given number.
+     *
+     * Precondition: The index is in the range <code>[0, getSize())</code>.
+     *
+     * @param index
+     *            The index of the square, as given by {@link #indexOf(Square)}.
+     * @return The square with the given index.
+     */
+    public Square squareAt(int index) {
+        int height = getHeight();
+        return squareAt(index / height, index % height);
+    }
+
+    /**
+     * Returns all units of a type that occupy a square of this board, without
+     * inspecting the squares.
+     *
+     * @param type
+     *            The type of unit to look for, which includes its subtypes.
+     * @param <T>
+     *            The type of unit to look for.
+     * @return The units of the given type, in no particular order.
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized <T extends Unit> List<T> getUnits(Class<T> type) {
+        List<T> result = new ArrayList<>();
+        for (Map.Entry<Class<? extends Unit>, Set<Unit>> entry : units.entrySet()) {
+            if (type.isAssignableFrom(entry.getKey())) {
+                result.addAll((Set<T>) entry.getValue());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Records that a unit now occupies a square of this board.
+     *
+     * @param unit
+     *            The unit that was put on one of the squares.
+     */
+    synchronized void register(Unit unit) {
+        units.computeIfAbsent(unit.getClass(), type -> new LinkedHashSet<>()).add(unit);
+    }
+
+    /**
+     * Records that a unit no longer occupies a square of this board.
+     *
+     * @param unit
+     *            The unit that was removed from one of the squares.
+     */
+    synchronized void unregister(Unit unit) {
+        Set<Unit> registered = units.get(unit.getClass());
+        if (registered != null) {
+            registered.remove(unit);
+        }
+    }
+
     /**
      * Determines whether the given <code>x,y</code> position is on this board.
      *
@@ -28,7 +28,9 @@ public class BoardFactory {
     }
 
     /**
-     * Creates a new board from a grid of cells and connects it.
+     * Creates a new board from a grid of cells and connects it. The cells
+     * are connected by their position on the board, which wraps around at its
+     * edges, so no links between the cells are stored.
      *
      * @param grid
      *            The square grid of cells, in which grid[x][y] corresponds to
@@ -38,23 +40,7 @@ public class BoardFactory {
     public Board createBoard(Square[][] grid) {
         assert grid != null;
 
-        Board board = new Board(grid);
-
-        int width = board.getWidth();
-        int height = board.getHeight();
-        for (int x = 0; x < width; x++) {
-            for (int y = 0; y < height; y++) {
-                Square square = grid[x][y];
-                for (Direction dir : Direction.values()) {
-                    int dirX = (width + x + dir.getDeltaX()) % width;
-                    int dirY = (height + y + dir.getDeltaY()) % height;
-                    Square neighbour = grid[dirX][dirY];
-                    square.link(neighbour, dir);
-                }
-            }
-        }
-
-        return board;
+        return new Board(grid);
     }
 
     /**
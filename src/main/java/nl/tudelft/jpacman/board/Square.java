@@ -1,6 +1,5 @@
 package nl.tudelft.jpacman.board;
 
-import java.util.ArrayList;
 import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
@@ -17,38 +16,68 @@ import nl.tudelft.jpacman.sprite.Sprite;
 public abstract class Square {
 
     /**
-     * The units occupying this square, in order of appearance.
+     * The units occupying this square, in order of appearance. The list is
+     * replaced rather than modified, so it can be handed out without copying.
      */
-    private final List<Unit> occupants;
+    private volatile ImmutableList<Unit> occupants;
 
     /**
-     * The collection of squares adjacent to this square.
+     * The squares explicitly linked to this square, or <code>null</code> if
+     * its neighbours are only given by its board.
      */
-    private final Map<Direction, Square> neighbours;
+    private Map<Direction, Square> links;
+
+    /**
+     * The board this square is part of, or <code>null</code> if it has not
+     * been placed on a board.
+     */
+    private Board board;
+
+    /**
+     * The column of this square on its board.
+     */
+    private int x;
+
+    /**
+     * The row of this square on its board.
+     */
+    private int y;
 
     /**
      * Creates a new, empty square.
      */
     protected Square() {
-        this.occupants = new ArrayList<>();
-        this.neighbours = new EnumMap<>(Direction.class);
+        this.occupants = ImmutableList.of();
         assert invariant();
     }
 
     /**
-     * Returns the square adjacent to this square.
+     * Returns the square adjacent to this square. Unless it was linked
+     * explicitly, this is the neighbouring square on the board, where the
+     * edges of the board wrap around.
      *
      * @param direction
      *            The direction of the adjacent square.
-     * @return The adjacent square in the given direction.
+     * @return The adjacent square in the given direction, or
+     *         <code>null</code> if there is none.
      */
     public Square getSquareAt(Direction direction) {
-        return neighbours.get(direction);
+        if (links != null) {
+            Square linked = links.get(direction);
+            if (linked != null) {
+                return linked;
+            }
+        }
+        if (board != null) {
+            return board.neighbourOf(x, y, direction);
+        }
+        return null;
     }
 
     /**
-     * Links this square to a neighbour in the given direction. Note that this
-     * is a one-way connection.
+     * Links this square to a neighbour in the given direction, overriding
+     * the neighbour given by the board. Note that this is a one-way
+     * connection.
      *
      * @param neighbour
      *            The neighbour to link.
@@ -56,19 +85,86 @@ public abstract class Square {
      *            The direction the new neighbour is in, as seen from this cell.
      */
     public void link(Square neighbour, Direction direction) {
-        neighbours.put(direction, neighbour);
+        if (links == null) {
+            links = new EnumMap<>(Direction.class);
+        }
+        links.put(direction, neighbour);
         assert invariant();
     }
 
+    /**
+     * Places this square on a board and registers its current occupants with
+     * that board.
+     *
+     * @param owner
+     *            The board this square is part of.
+     * @param column
+     *            The column of this square on the board.
+     * @param row
+     *            The row of this square on the board.
+     */
+    void place(Board owner, int column, int row) {
+        this.board = owner;
+        this.x = column;
+        this.y = row;
+        for (Unit occupant : occupants) {
+            owner.register(occupant);
+        }
+    }
+
+    /**
+     * Returns whether this square has been placed on a board.
+     *
+     * @return <code>true</code> iff this square is part of a board.
+     */
+    public boolean isOnBoard() {
+        return board != null;
+    }
+
+    /**
+     * Returns the board this square is part of.
+     * Precondition: <code>isOnBoard()</code>.
+     *
+     * @return The board this square is part of.
+     */
+    public Board getBoard() {
+        assert board != null;
+        return board;
+    }
+
+    /**
+     * Returns the column of this square on its board.
+     * Precondition: <code>isOnBoard()</code>.
+     *
+     * @return The <code>x</code> position of this square.
+     */
+    public int getX() {
+        assert board != null;
+        return x;
+    }
+
+    /**
+     * Returns the row of this square on its board.
+     * Precondition: <code>isOnBoard()</code>.
+     *
+     * @return The <code>y</code> position of this square.
+     */
+    public int getY() {
+        assert board != null;
+        return y;
+    }
+
     /**
      * Returns an immutable list of units occupying this square, in the order in
-     * which they occupied this square (i.e. oldest first.)
+     * which they occupied this square (i.e. oldest first.) The list is a
+     * snapshot that is not copied, so it does not change when units come and
+     * go later on.
      *
      * @return An immutable list of units occupying this square, in the order in
      *         which they occupied this square (i.e. oldest first.)
      */
     public List<Unit> getOccupants() {
-        return ImmutableList.copyOf(occupants);
+        return occupants;
     }
 
     /**
@@ -81,7 +177,10 @@ public abstract class Square {
         assert occupant != null;
         assert !occupants.contains(occupant);
 
-        occupants.add(occupant);
+        occupants = ImmutableList.<Unit>builder().addAll(occupants).add(occupant).build();
+        if (board != null) {
+            board.register(occupant);
+        }
     }
 
     /**
@@ -92,7 +191,18 @@ public abstract class Square {
      */
     void remove(Unit occupant) {
         assert occupant != null;
-        occupants.remove(occupant);
+        ImmutableList<Unit> current = occupants;
+        int index = current.indexOf(occupant);
+        if (index < 0) {
+            return;
+        }
+        occupants = ImmutableList.<Unit>builder()
+            .addAll(current.subList(0, index))
+            .addAll(current.subList(index + 1, current.size()))
+            .build();
+        if (board != null) {
+            board.unregister(occupant);
+        }
     }
 
     /**
@@ -1,7 +1,13 @@
 package nl.tudelft.jpacman.game;
 import java.awt.*;
-import java.util.LinkedList;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
 import nl.tudelft.jpacman.board.Direction;
 import nl.tudelft.jpacman.level.Level;
 import nl.tudelft.jpacman.level.Player;
@@ -11,21 +17,60 @@ import nl.tudelft.jpacman.points.PointCalculator;
 /**
  * This is an extension of the game supporting multiple
  * levels, for a single player.
+ * <p>
+ * Levels are created when they are needed: while a level is played, the
+ * next one is created in the background, and a finished level is dropped
+ * as soon as the player moves on. However long the game, at most two
+ * levels are held at a time.
  */
 public class MultiLevelSinglePlayerGame extends Game {
     private Player player;
-    private LinkedList<Level> levels;
     private int moveCount;
 
     /**
-     * Create a new multi-level game.
+     * The executor creating the upcoming levels.
+     */
+    private final Executor executor;
+
+    /**
+     * The level being played, or <code>null</code> if the first level has
+     * not been asked for yet.
+     */
+    private Level level;
+
+    /**
+     * The level after the current one being created, or <code>null</code>
+     * if there is none.
+     */
+    private CompletableFuture<Level> upcoming;
+
+    /**
+     * The suppliers of the levels after the upcoming one.
+     */
+    private final Deque<Supplier<Level>> later = new ArrayDeque<>();
+
+    /**
+     * Create a new multi-level game, of which the levels are created in
+     * the common fork/join pool.
      * @param player The player of the game.
      * @param pointCalculator The player of the game.
      */
     public MultiLevelSinglePlayerGame(Player player, PointCalculator pointCalculator) {
+        this(player, pointCalculator, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Create a new multi-level game.
+     * @param player The player of the game.
+     * @param pointCalculator The player of the game.
+     * @param executor The executor creating the upcoming levels.
+     */
+    public MultiLevelSinglePlayerGame(Player player, PointCalculator pointCalculator,
+                                      Executor executor) {
         super(pointCalculator);
+        assert executor != null;
         this.player = player;
-        levels = new LinkedList<Level>();
+        this.executor = executor;
         moveCount = 0;
     }
 
@@ -33,10 +78,21 @@ public class MultiLevelSinglePlayerGame extends Game {
     public List<Player> getPlayers() {
         return ImmutableList.of(player);
     }
+    /**
+     * @return The level being played, for which this waits if it is the
+     *         first level and it is still being created.
+     */
     @Override
     public Level getLevel() {
-        assert !levels.isEmpty();
-        return levels.getFirst();
+        synchronized (this) {
+            if (level != null) {
+                return level;
+            }
+        }
+        takeUpcoming();
+        synchronized (this) {
+            return level;
+        }
     }
     @Override
     public void start() {
@@ -46,31 +102,92 @@ public class MultiLevelSinglePlayerGame extends Game {
         }
     }
     /**
-     * Let the player proceed to the next level.
+     * Let the player proceed to the next level. The finished level is
+     * released, and the level after the next one starts being created.
      */
     public void nextLevel() {
-        assert levels.size() > 1;
-        levels.removeFirst();
-        moveCount = 0;
-        getLevel().registerPlayer(player);
+        assert levelsLeft() > 0;
+        getLevel();
+        takeUpcoming();
+        Level next;
+        synchronized (this) {
+            moveCount = 0;
+            next = level;
+        }
+        next.registerPlayer(player);
     }
     private boolean readyForNextLevel() {
         return player.isAlive()
             && getLevel().remainingPellets() == 0
-            && levels.size() > 1;
+            && levelsLeft() > 0;
     }
     /**
      * @return The number of levels still to be played.
      */
-    public int levelsLeft() {
-        return levels.size() - 1;
+    public synchronized int levelsLeft() {
+        int left = later.size();
+        if (upcoming != null) {
+            left++;
+        }
+        if (level == null && left > 0) {
+            left--;
+        }
+        return left;
     }
     /**
      * Register another level.
      * @param level The extra level to play.
      */
     public void addLevel(Level level) {
-        levels.addLast(level);
+        addLevel(() -> level);
+    }
+    /**
+     * Register another level, which is created in the background once the
+     * level before it is being played.
+     * @param supplier The supplier creating the extra level to play.
+     */
+    public synchronized void addLevel(Supplier<Level> supplier) {
+        assert supplier != null;
+        later.addLast(supplier);
+        prefetch();
+    }
+    /**
+     * Starts creating the level after the current one, unless it is being
+     * created already or there is none.
+     */
+    private void prefetch() {
+        if (upcoming == null && !later.isEmpty()) {
+            upcoming = CompletableFuture.supplyAsync(later.removeFirst(), executor);
+        }
+    }
+    /**
+     * Waits for the upcoming level, without blocking the other methods of
+     * this game, and then plays it and starts creating the one after it. A
+     * level that could not be created stays the upcoming level, so every
+     * attempt to play it fails the same way.
+     */
+    private void takeUpcoming() {
+        CompletableFuture<Level> next;
+        synchronized (this) {
+            next = upcoming;
+        }
+        assert next != null;
+        Level created;
+        try {
+            created = next.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("A level could not be created.", e);
+        }
+        synchronized (this) {
+            if (upcoming == next) {
+                level = created;
+                upcoming = null;
+                prefetch();
+            }
+        }
     }
     /**
      * @return Number of moves made so far.
@@ -4,6 +4,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import nl.tudelft.jpacman.board.Unit;
 
@@ -15,17 +16,31 @@ import nl.tudelft.jpacman.board.Unit;
  */
 public class CollisionInteractionMap implements CollisionMap {
 
+    /**
+     * Stands in for the absence of a handler in {@link #resolved}.
+     */
+    private static final CollisionHandler<Unit, Unit> NO_HANDLER = (collider, collidee) -> { };
+
     /**
      * The collection of collision handlers.
      */
     private final Map<Class<? extends Unit>,
         Map<Class<? extends Unit>, CollisionHandler<?, ?>>> handlers;
 
+    /**
+     * The handler found for every pair of collider and collidee classes
+     * that collided so far, so the class hierarchies are only inspected once
+     * per pair. Cleared whenever a handler is added.
+     */
+    private final Map<Class<? extends Unit>,
+        Map<Class<? extends Unit>, CollisionHandler<?, ?>>> resolved;
+
     /**
      * Creates a new, empty collision map.
      */
     public CollisionInteractionMap() {
         this.handlers = new HashMap<>();
+        this.resolved = new ConcurrentHashMap<>();
     }
 
     /**
@@ -95,6 +110,7 @@ public class CollisionInteractionMap implements CollisionMap {
 
         Map<Class<? extends Unit>, CollisionHandler<?, ?>> map = handlers.get(collider);
         map.put(collidee, handler);
+        resolved.clear();
     }
 
     /**
@@ -115,23 +131,50 @@ public class CollisionInteractionMap implements CollisionMap {
     @Override
     public <C1 extends Unit, C2 extends Unit> void collide(C1 collider,
                                                            C2 collidee) {
-        Class<? extends Unit> colliderKey = getMostSpecificClass(handlers, collider.getClass());
+        Class<? extends Unit> colliderClass = collider.getClass();
+        Class<? extends Unit> collideeClass = collidee.getClass();
+        Map<Class<? extends Unit>, CollisionHandler<?, ?>> known = resolved.get(colliderClass);
+        if (known == null) {
+            known = resolved.computeIfAbsent(colliderClass, key -> new ConcurrentHashMap<>());
+        }
+        CollisionHandler<?, ?> handler = known.get(collideeClass);
+        if (handler == null) {
+            handler = resolve(colliderClass, collideeClass);
+            known.put(collideeClass, handler);
+        }
+
+        ((CollisionHandler<C1, C2>) handler).handleCollision(collider, collidee);
+    }
+
+    /**
+     * Finds the handler for a pair of classes, using the most specific
+     * classes for which a handler is listed.
+     *
+     * @param colliderClass
+     *            The class of the collider.
+     * @param collideeClass
+     *            The class of the collidee.
+     * @return The handler for the collision, or {@link #NO_HANDLER} if none
+     *         is listed.
+     */
+    private CollisionHandler<?, ?> resolve(Class<? extends Unit> colliderClass,
+                                           Class<? extends Unit> collideeClass) {
+        Class<? extends Unit> colliderKey = getMostSpecificClass(handlers, colliderClass);
         if (colliderKey == null) {
-            return;
+            return NO_HANDLER;
         }
 
         Map<Class<? extends Unit>, CollisionHandler<?, ?>> map = handlers.get(colliderKey);
-        Class<? extends Unit> collideeKey = getMostSpecificClass(map, collidee.getClass());
+        Class<? extends Unit> collideeKey = getMostSpecificClass(map, collideeClass);
         if (collideeKey == null) {
-            return;
+            return NO_HANDLER;
         }
 
-        CollisionHandler<C1, C2> collisionHandler = (CollisionHandler<C1, C2>) map.get(collideeKey);
-        if (collisionHandler == null) {
-            return;
+        CollisionHandler<?, ?> handler = map.get(collideeKey);
+        if (handler == null) {
+            return NO_HANDLER;
         }
-
-        collisionHandler.handleCollision(collider, collidee);
+        return handler;
     }
 
     /**
@@ -0,0 +1,222 @@
+package nl.tudelft.jpacman.level;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import nl.tudelft.jpacman.PacmanConfigurationException;
+import nl.tudelft.jpacman.board.Board;
+import nl.tudelft.jpacman.board.BoardFactory;
+import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.npc.Ghost;
+
+/**
+ * Creates new {@link Level}s from maps compiled by {@link MapCompiler}. The
+ * squares are created in one pass over the packed square types, and the
+ * start positions and ghosts are placed from their lists, without looking at
+ * any text.
+ * <p>
+ * A compiled map gives a level equivalent to the one {@link MapParser}
+ * creates of the text map it was compiled from: the same squares, pellets
+ * and start positions, and the same kinds of ghosts on the same squares.
+ * The squares and pellets are all created before the ghosts, which are then
+ * created in the order of their squares, just like the parser creates them.
+ */
+public class CompiledMapLoader {
+
+    /**
+     * Error message for data that is not a compiled map.
+     */
+    private static final String CORRUPT = "Not a valid compiled map.";
+
+    /**
+     * The factory that creates the levels.
+     */
+    private final LevelFactory levelCreator;
+
+    /**
+     * The factory that creates the squares and board.
+     */
+    private final BoardFactory boardCreator;
+
+    /**
+     * Creates a new loader of compiled maps.
+     *
+     * @param levelFactory
+     *            The factory providing the NPC objects and the level.
+     * @param boardFactory
+     *            The factory providing the Square objects and the board.
+     */
+    public CompiledMapLoader(LevelFactory levelFactory, BoardFactory boardFactory) {
+        this.levelCreator = levelFactory;
+        this.boardCreator = boardFactory;
+    }
+
+    /**
+     * Loads a compiled map file by mapping it into memory.
+     *
+     * @param file
+     *            The compiled map file.
+     * @return The level of the map.
+     * @throws IOException
+     *             When the file could not be read.
+     * @throws PacmanConfigurationException
+     *             If the file is not a valid compiled map.
+     */
+    public Level load(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return load(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Loads a compiled map.
+     *
+     * @param map
+     *            The compiled map, from its position up to its limit, which
+     *            is left unchanged.
+     * @return The level of the map.
+     * @throws PacmanConfigurationException
+     *             If the bytes are not a valid compiled map.
+     */
+    public Level load(ByteBuffer map) {
+        ByteBuffer data = map.duplicate();
+        byte[] magic = new byte[MapCompiler.MAGIC.length];
+        check(data.remaining() >= MapCompiler.HEADER_SIZE);
+        data.get(magic);
+        check(Arrays.equals(magic, MapCompiler.MAGIC));
+        int width = data.getInt();
+        int height = data.getInt();
+        int starts = data.getInt();
+        int ghosts = data.getInt();
+        check(width > 0 && height > 0 && starts >= 0 && ghosts >= 0);
+        int packed = MapCompiler.packedSize(width, height);
+        check(((long) starts + ghosts) * Integer.BYTES + packed == data.remaining());
+
+        int[] startIndices = readIndices(data, starts, width * height);
+        int[] ghostIndices = readIndices(data, ghosts, width * height);
+        PelletLayer pellets = new PelletLayer(width * height);
+        Square[][] grid = createSquares(data, width, height, pellets);
+
+        List<Square> startPositions = new ArrayList<>(starts);
+        for (int index : startIndices) {
+            startPositions.add(grid[index / height][index % height]);
+        }
+        List<Ghost> ghostList = placeGhosts(grid, ghostIndices);
+        Board board = boardCreator.createBoard(grid);
+        return levelCreator.createLevel(board, ghostList, startPositions, pellets);
+    }
+
+    /**
+     * Creates the ghosts and puts them on their squares.
+     *
+     * @param grid
+     *            The grid of squares.
+     * @param indices
+     *            The indices of the squares of the ghosts, in increasing
+     *            order.
+     * @return The ghosts, in the order of their squares.
+     */
+    private List<Ghost> placeGhosts(Square[][] grid, int[] indices) {
+        int height = grid[0].length;
+        List<Ghost> ghosts = new ArrayList<>(indices.length);
+        for (int index : indices) {
+            Ghost ghost = levelCreator.createGhost();
+            ghost.occupy(grid[index / height][index % height]);
+            ghosts.add(ghost);
+        }
+        return ghosts;
+    }
+
+    /**
+     * Reads a list of square indices, which must be increasing.
+     *
+     * @param data
+     *            The compiled map, positioned at the list.
+     * @param count
+     *            The number of indices.
+     * @param size
+     *            The number of squares on the board.
+     * @return The indices.
+     */
+    private static int[] readIndices(ByteBuffer data, int count, int size) {
+        int[] indices = new int[count];
+        int previous = -1;
+        for (int i = 0; i < count; i++) {
+            indices[i] = data.getInt();
+            check(indices[i] > previous && indices[i] < size);
+            previous = indices[i];
+        }
+        return indices;
+    }
+
+    /**
+     * Creates all squares and pellets in the order of their indices.
+     *
+     * @param data
+     *            The compiled map, positioned at the packed square types.
+     * @param width
+     *            The width of the board.
+     * @param height
+     *            The height of the board.
+     * @param pellets
+     *            The layer to put the pellets on.
+     * @return The grid of squares with grid[x][y] being the square at column
+     *         x, row y.
+     */
+    private Square[][] createSquares(ByteBuffer data, int width, int height,
+                                     PelletLayer pellets) {
+        Square[][] grid = new Square[width][height];
+        int base = data.position();
+        int index = 0;
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                int bits = data.get(base + index / MapCompiler.SQUARES_PER_BYTE)
+                    >> (index % MapCompiler.SQUARES_PER_BYTE * MapCompiler.SQUARE_BITS);
+                grid[x][y] = createSquare(bits & MapCompiler.SQUARE_MASK, pellets, index);
+                index++;
+            }
+        }
+        return grid;
+    }
+
+    /**
+     * @param type
+     *            The type of a square, as stored by {@link MapCompiler}.
+     * @param pellets
+     *            The layer to put a pellet on.
+     * @param index
+     *            The index of the square.
+     * @return A new square of that type.
+     */
+    private Square createSquare(int type, PelletLayer pellets, int index) {
+        switch (type) {
+            case MapCompiler.GROUND:
+                return boardCreator.createGround();
+            case MapCompiler.WALL:
+                return boardCreator.createWall();
+            case MapCompiler.PELLET:
+                pellets.add(index, levelCreator.getPelletValue());
+                return boardCreator.createGround();
+            default:
+                throw new PacmanConfigurationException(CORRUPT);
+        }
+    }
+
+    /**
+     * @param valid
+     *            Whether a part of a compiled map is as expected.
+     * @throws PacmanConfigurationException
+     *             If it is not.
+     */
+    private static void check(boolean valid) {
+        if (!valid) {
+            throw new PacmanConfigurationException(CORRUPT);
+        }
+    }
+}
@@ -1,21 +1,25 @@
 package nl.tudelft.jpacman.level;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import com.google.common.collect.ImmutableList;
 
 import nl.tudelft.jpacman.board.Board;
 import nl.tudelft.jpacman.board.Direction;
 import nl.tudelft.jpacman.board.Square;
 import nl.tudelft.jpacman.board.Unit;
+import nl.tudelft.jpacman.level.TickScheduler.RecurringTask;
+import nl.tudelft.jpacman.level.TickScheduler.ScheduledTask;
+import nl.tudelft.jpacman.npc.FlowFields;
 import nl.tudelft.jpacman.npc.Ghost;
+import nl.tudelft.jpacman.sprite.Sprite;
 
 /**
  * A level of Pac-Man. A level consists of the board with the players and the
@@ -43,9 +47,15 @@ public class Level {
     private final Object startStopLock = new Object();
 
     /**
-     * The NPCs of this level and, if they are running, their schedules.
+     * The NPCs of this level and, if they are running, their schedules, in
+     * the order in which they were given so that they start in that order.
+     */
+    private final Map<Ghost, ScheduledTask> npcs;
+
+    /**
+     * The scheduler driving the NPCs of this level.
      */
-    private final Map<Ghost, ScheduledExecutorService> npcs;
+    private final TickScheduler scheduler;
 
     /**
      * <code>true</code> iff this level is currently in progress, i.e. players
@@ -78,6 +88,29 @@ public class Level {
      */
     private final Set<LevelObserver> observers;
 
+    /**
+     * The observers that are notified of every move, in the order in which
+     * they were added. They may be added and removed while units move.
+     */
+    private final List<MoveObserver> moveObservers;
+
+    /**
+     * The squares still holding a pellet. Pellets are not units on the
+     * squares, they only exist as bits in this layer.
+     */
+    private final PelletLayer pellets;
+
+    /**
+     * The sprite of the pellets, or <code>null</code> if the board has none.
+     */
+    private final Sprite pelletSprite;
+
+    /**
+     * The number of pellets still on the board, kept up to date on every move
+     * so that it does not have to be recounted from the pellet layer.
+     */
+    private int pelletCount;
+
     /**
      * Creates a new level for the board.
      *
@@ -92,21 +125,79 @@ public class Level {
      */
     public Level(Board board, List<Ghost> ghosts, List<Square> startPositions,
                  CollisionMap collisionMap) {
+        this(board, ghosts, startPositions, collisionMap, new TickScheduler());
+    }
+
+    /**
+     * Creates a new level for the board, of which the NPCs are driven by the
+     * given scheduler.
+     *
+     * @param board
+     *            The board for the level.
+     * @param ghosts
+     *            The ghosts on the board.
+     * @param startPositions
+     *            The squares on which players start on this board.
+     * @param collisionMap
+     *            The collection of collisions that should be handled.
+     * @param scheduler
+     *            The scheduler moving the NPCs, which may be shared with other
+     *            levels.
+     */
+    public Level(Board board, List<Ghost> ghosts, List<Square> startPositions,
+                 CollisionMap collisionMap, TickScheduler scheduler) {
+        this(board, ghosts, startPositions, collisionMap, scheduler,
+            new PelletLayer(board.getSize()), null);
+    }
+
+    /**
+     * Creates a new level for the board, with pellets on the squares marked
+     * in the pellet layer.
+     *
+     * @param board
+     *            The board for the level.
+     * @param ghosts
+     *            The ghosts on the board.
+     * @param startPositions
+     *            The squares on which players start on this board.
+     * @param collisionMap
+     *            The collection of collisions that should be handled.
+     * @param scheduler
+     *            The scheduler moving the NPCs, which may be shared with other
+     *            levels.
+     * @param pellets
+     *            The squares of the board holding a pellet, which the level
+     *            takes over.
+     * @param pelletSprite
+     *            The sprite of the pellets.
+     */
+    public Level(Board board, List<Ghost> ghosts, List<Square> startPositions,
+                 CollisionMap collisionMap, TickScheduler scheduler,
+                 PelletLayer pellets, Sprite pelletSprite) {
         assert board != null;
         assert ghosts != null;
         assert startPositions != null;
+        assert scheduler != null;
+        assert pellets.size() == board.getSize();
 
         this.board = board;
+        this.scheduler = scheduler;
         this.inProgress = false;
-        this.npcs = new HashMap<>();
+        this.npcs = new LinkedHashMap<>();
+        FlowFields flowFields = new FlowFields();
         for (Ghost ghost : ghosts) {
             npcs.put(ghost, null);
+            ghost.setFlowFields(flowFields);
         }
         this.startSquares = startPositions;
         this.startSquareIndex = 0;
         this.players = new ArrayList<>();
         this.collisions = collisionMap;
         this.observers = new HashSet<>();
+        this.moveObservers = new CopyOnWriteArrayList<>();
+        this.pellets = pellets;
+        this.pelletSprite = pelletSprite;
+        this.pelletCount = pellets.count();
     }
 
     /**
@@ -129,6 +220,27 @@ public class Level {
         observers.remove(observer);
     }
 
+    /**
+     * Adds an observer that will be notified of every move made on this level
+     * while it is in progress.
+     *
+     * @param observer
+     *            The observer that will be notified.
+     */
+    public void addMoveObserver(MoveObserver observer) {
+        moveObservers.add(observer);
+    }
+
+    /**
+     * Removes a move observer if it was listed.
+     *
+     * @param observer
+     *            The observer to be removed.
+     */
+    public void removeMoveObserver(MoveObserver observer) {
+        moveObservers.remove(observer);
+    }
+
     /**
      * Registers a player on this level, assigning him to a starting position. A
      * player can only be registered once, registering a player again will have
@@ -151,6 +263,21 @@ public class Level {
         startSquareIndex %= startSquares.size();
     }
 
+    /**
+     * @return The registered players, in the order in which they registered.
+     */
+    public List<Player> getPlayers() {
+        return ImmutableList.copyOf(players);
+    }
+
+    /**
+     * @return The ghosts of this level, in the order in which they were
+     *         given.
+     */
+    public List<Ghost> getGhosts() {
+        return ImmutableList.copyOf(npcs.keySet());
+    }
+
     /**
      * Returns the board of this level.
      *
@@ -179,21 +306,64 @@ public class Level {
         }
 
         synchronized (moveLock) {
+            for (MoveObserver observer : moveObservers) {
+                observer.unitMoved(unit, direction);
+            }
             unit.setDirection(direction);
             Square location = unit.getSquare();
             Square destination = location.getSquareAt(direction);
 
             if (destination.isAccessibleTo(unit)) {
-                List<Unit> occupants = destination.getOccupants();
-                unit.occupy(destination);
-                for (Unit occupant : occupants) {
-                    collisions.collide(unit, occupant);
-                }
+                enter(unit, destination);
+            } else {
+                destination = location;
+            }
+            for (MoveObserver observer : moveObservers) {
+                observer.squaresChanged(location, destination);
             }
             updateObservers();
         }
     }
 
+    /**
+     * Moves a unit onto a square and handles its collisions with the units
+     * already there.
+     *
+     * @param unit
+     *            The unit to move.
+     * @param destination
+     *            The square to move the unit to, which is accessible to it.
+     */
+    private void enter(Unit unit, Square destination) {
+        List<Unit> occupants = destination.getOccupants();
+        unit.occupy(destination);
+        if (unit instanceof Player) {
+            eatPellet((Player) unit, board.indexOf(destination));
+        }
+        for (Unit occupant : occupants) {
+            collisions.collide(unit, occupant);
+        }
+    }
+
+    /**
+     * Lets a player eat the pellet on the square it entered, if there is
+     * one. The pellet is taken off the layer and handed to the collision map
+     * with the value the layer holds for it, e.g. to award its points.
+     *
+     * @param player
+     *            The player that entered the square.
+     * @param index
+     *            The index of the square.
+     */
+    private void eatPellet(Player player, int index) {
+        if (pellets.contains(index)) {
+            Pellet pellet = new Pellet(pellets.valueAt(index), pelletSprite);
+            pellets.remove(index);
+            pelletCount--;
+            collisions.collide(player, pellet);
+        }
+    }
+
     /**
      * Starts or resumes this level, allowing movement and (re)starting the
      * NPCs.
@@ -228,27 +398,35 @@ public class Level {
      */
     private void startNPCs() {
         for (final Ghost npc : npcs.keySet()) {
-            ScheduledExecutorService service = Executors.newSingleThreadScheduledExecutor();
-
-            service.schedule(new NpcMoveTask(service, npc),
-                npc.getInterval() / 2, TimeUnit.MILLISECONDS);
+            ScheduledTask task = scheduler.schedule(new NpcMoveTask(npc),
+                npc.getInterval() / 2);
 
-            npcs.put(npc, service);
+            npcs.put(npc, task);
         }
     }
 
     /**
-     * Stops all NPC movement scheduling and interrupts any movements being
-     * executed.
+     * Stops all NPC movement scheduling. Movements being executed are
+     * completed, but no new movements will be made.
      */
     private void stopNPCs() {
-        for (Entry<Ghost, ScheduledExecutorService> entry : npcs.entrySet()) {
-            ScheduledExecutorService schedule = entry.getValue();
+        for (Entry<Ghost, ScheduledTask> entry : npcs.entrySet()) {
+            ScheduledTask schedule = entry.getValue();
             assert schedule != null;
-            schedule.shutdownNow();
+            schedule.cancel();
         }
     }
 
+    /**
+     * Returns the scheduler driving the NPCs of this level, which also keeps
+     * track of how far behind schedule the NPC moves are.
+     *
+     * @return The scheduler of this level.
+     */
+    public TickScheduler getScheduler() {
+        return scheduler;
+    }
+
     /**
      * Returns whether this level is in progress, i.e. whether moves can be made
      * on the board.
@@ -292,37 +470,196 @@ public class Level {
     }
 
     /**
-     * Counts the pellets remaining on the board.
+     * Returns the number of pellets remaining on the board. The count is
+     * maintained incrementally while units move; when assertions are enabled
+     * it is cross-checked against a population count of the pellet layer.
      *
      * @return The amount of pellets remaining on the board.
      */
     public int remainingPellets() {
-        Board board = getBoard();
-        int pellets = 0;
-        for (int x = 0; x < board.getWidth(); x++) {
-            for (int y = 0; y < board.getHeight(); y++) {
-                for (Unit unit : board.squareAt(x, y).getOccupants()) {
-                    if (unit instanceof Pellet) {
-                        pellets++;
-                    }
+        assert pelletCount >= 0;
+        assert pelletCount == pellets.count() : "Pellet count out of sync with pellet layer";
+        return pelletCount;
+    }
+
+    /**
+     * Returns the squares of the board that still hold a pellet. Pellets do
+     * not occupy the squares, so this is the only place to find them.
+     *
+     * @return The pellet layer of this level.
+     */
+    public PelletLayer getPellets() {
+        return pellets;
+    }
+
+    /**
+     * @return The sprite to draw on every square holding a pellet, or
+     *         <code>null</code> if the board has no pellets.
+     */
+    public Sprite getPelletSprite() {
+        return pelletSprite;
+    }
+
+    /**
+     * Captures the positions and directions of all players and ghosts, the
+     * scores and fates of the players and the remaining pellets, e.g. to try
+     * out moves and roll them back afterwards.
+     *
+     * @return A snapshot of the current state of this level.
+     */
+    public LevelSnapshot snapshot() {
+        synchronized (moveLock) {
+            List<Unit> units = units();
+            LevelSnapshot snapshot = new LevelSnapshot(this, units.size(), players.size(),
+                pellets);
+            int[] positions = new int[units.size()];
+            for (int i = 0; i < units.size(); i++) {
+                Unit unit = units.get(i);
+                int square = LevelSnapshot.NONE;
+                if (unit.hasSquare()) {
+                    square = board.indexOf(unit.getSquare());
+                    positions[i] = unit.getSquare().getOccupants().indexOf(unit);
                 }
+                snapshot.recordUnit(i, square, unit.getDirection(), positions);
+            }
+            for (int i = 0; i < players.size(); i++) {
+                Player player = players.get(i);
+                snapshot.recordPlayer(i, player.getScore(), player.isAlive(),
+                    units.indexOf(player.getKiller()));
             }
+            return snapshot;
         }
-        assert pellets >= 0;
-        return pellets;
     }
 
     /**
-     * A task that moves an NPC and reschedules itself after it finished.
+     * Puts this level back in the state it was in when a snapshot was taken:
+     * only the units and pellets that changed since are updated. Whether the
+     * level is in progress is left as it is. Move observers are told about
+     * every square that changed, as if the units and pellets had moved.
      *
-     * @author Jeroen Roosen
+     * @param snapshot
+     *            A snapshot of this level, taken with the same players
+     *            registered.
      */
-    private final class NpcMoveTask implements Runnable {
+    @SuppressWarnings("PMD.ForLoopCanBeForeach")
+    public void restore(LevelSnapshot snapshot) {
+        assert snapshot.getLevel() == this;
+        synchronized (moveLock) {
+            List<Unit> units = units();
+            assert units.size() == snapshot.getUnits();
+            Square[] left = new Square[units.size()];
+            for (int i = 0; i < units.size(); i++) {
+                Unit unit = units.get(i);
+                if (unit.hasSquare()) {
+                    left[i] = unit.getSquare();
+                    unit.leaveSquare();
+                }
+            }
+            snapshot.forEachPelletDifference(pellets, this::togglePellet);
+            for (int rank = 0; rank < units.size(); rank++) {
+                int i = snapshot.unitAt(rank);
+                Unit unit = units.get(i);
+                unit.setDirection(snapshot.getDirection(i));
+                if (snapshot.getSquare(i) != LevelSnapshot.NONE) {
+                    unit.occupy(board.squareAt(snapshot.getSquare(i)));
+                }
+            }
+            for (int i = 0; i < players.size(); i++) {
+                restorePlayer(players.get(i), snapshot, i, units);
+            }
+            reportRestored(units, left);
+        }
+    }
 
-        /**
-         * The service executing the task.
-         */
-        private final ScheduledExecutorService service;
+    /**
+     * Tells the move observers which squares the units left and entered
+     * while the level was restored.
+     *
+     * @param units
+     *            The players and ghosts of this level.
+     * @param left
+     *            The square every unit was on before, or <code>null</code>.
+     */
+    private void reportRestored(List<Unit> units, Square[] left) {
+        for (int i = 0; i < units.size(); i++) {
+            Unit unit = units.get(i);
+            Square from = left[i];
+            Square to = from;
+            if (unit.hasSquare()) {
+                to = unit.getSquare();
+            }
+            if (from == null) {
+                from = to;
+            }
+            if (from != null) {
+                for (MoveObserver observer : moveObservers) {
+                    observer.squaresChanged(from, to);
+                }
+            }
+        }
+    }
+
+    /**
+     * Puts back the score and fate of a player.
+     *
+     * @param player
+     *            The player to restore.
+     * @param snapshot
+     *            The snapshot to restore.
+     * @param index
+     *            The index of the player.
+     * @param units
+     *            The players and ghosts of this level.
+     */
+    private static void restorePlayer(Player player, LevelSnapshot snapshot, int index,
+                                      List<Unit> units) {
+        player.addPoints(snapshot.getScore(index) - player.getScore());
+        if (player.isAlive() != snapshot.isAlive(index)) {
+            player.setAlive(snapshot.isAlive(index));
+        }
+        if (snapshot.getKiller(index) == LevelSnapshot.NONE) {
+            player.setKiller(null);
+        } else {
+            player.setKiller(units.get(snapshot.getKiller(index)));
+        }
+    }
+
+    /**
+     * Puts an eaten pellet back on its square, or takes a pellet off it, and
+     * tells the move observers the square changed.
+     *
+     * @param index
+     *            The index of the square of the pellet.
+     */
+    private void togglePellet(int index) {
+        if (pellets.flip(index)) {
+            pelletCount++;
+        } else {
+            pelletCount--;
+        }
+        Square square = board.squareAt(index);
+        for (MoveObserver observer : moveObservers) {
+            observer.squaresChanged(square, square);
+        }
+    }
+
+    /**
+     * @return The players followed by the ghosts of this level.
+     */
+    private List<Unit> units() {
+        List<Unit> units = new ArrayList<>(players.size() + npcs.size());
+        units.addAll(players);
+        units.addAll(npcs.keySet());
+        return units;
+    }
+
+    /**
+     * A task that moves an NPC and asks to be rescheduled after the NPC's
+     * interval.
+     *
+     * @author Jeroen Roosen
+     */
+    private final class NpcMoveTask implements RecurringTask {
 
         /**
          * The NPC to move.
@@ -332,24 +669,20 @@ public class Level {
         /**
          * Creates a new task.
          *
-         * @param service
-         *            The service that executes the task.
          * @param npc
          *            The NPC to move.
          */
-        NpcMoveTask(ScheduledExecutorService service, Ghost npc) {
-            this.service = service;
+        NpcMoveTask(Ghost npc) {
             this.npc = npc;
         }
 
         @Override
-        public void run() {
+        public long execute() {
             Direction nextMove = npc.nextMove();
             if (nextMove != null) {
                 move(npc, nextMove);
             }
-            long interval = npc.getInterval();
-            service.schedule(this, interval, TimeUnit.MILLISECONDS);
+            return npc.getInterval();
         }
     }
 
@@ -372,4 +705,41 @@ public class Level {
          */
         void levelLost();
     }
+
+    /**
+     * An observer that will be notified of every move on a level, e.g. to
+     * record a game or to redraw the squares that changed. Both methods are
+     * called while no other unit can move.
+     */
+    public interface MoveObserver {
+
+        /**
+         * A unit is about to move, which it does if the square in the given
+         * direction is accessible to it.
+         *
+         * @param unit
+         *            The unit that moves.
+         * @param direction
+         *            The direction the unit moves in.
+         */
+        default void unitMoved(Unit unit, Direction direction) {
+            // nothing to record by default.
+        }
+
+        /**
+         * A move has been made, changing how two squares look: the unit left
+         * one and entered the other, or it turned on the same square. Units
+         * on the squares may have been eaten or killed. Restoring a snapshot
+         * reports the squares of every unit and pellet in the same way.
+         *
+         * @param from
+         *            The square the unit was on.
+         * @param to
+         *            The square the unit is on now, which is the same square
+         *            if it could not move.
+         */
+        default void squaresChanged(Square from, Square to) {
+            // nothing to redraw by default.
+        }
+    }
 }
@@ -3,10 +3,12 @@ package nl.tudelft.jpacman.level;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.SplittableRandom;
 
 import nl.tudelft.jpacman.board.Board;
 import nl.tudelft.jpacman.board.Direction;
 import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.npc.DistanceTable;
 import nl.tudelft.jpacman.npc.Ghost;
 import nl.tudelft.jpacman.npc.ghost.GhostColor;
 import nl.tudelft.jpacman.npc.ghost.GhostFactory;
@@ -52,6 +54,24 @@ public class LevelFactory {
      */
     private final PointCalculator pointCalculator;
 
+    /**
+     * The scheduler that drives the NPCs of all created levels, or
+     * <code>null</code> if every level gets a scheduler of its own.
+     */
+    private TickScheduler scheduler;
+
+    /**
+     * The largest board, in squares, for which the ghosts get a precomputed
+     * distance table. Zero disables the tables.
+     */
+    private int distanceTableLimit;
+
+    /**
+     * The generator every created level splits its own generator off, or
+     * <code>null</code> if ghosts make unseeded random choices.
+     */
+    private SplittableRandom seeds;
+
     /**
      * Creates a new level factory.
      *
@@ -72,10 +92,10 @@ public class LevelFactory {
     }
 
     /**
-     * Creates a new level from the provided data.
+     * Creates a new level without pellets from the provided data.
      *
      * @param board
-     *            The board with all ghosts and pellets occupying their squares.
+     *            The board with all ghosts occupying their squares.
      * @param ghosts
      *            A list of all ghosts on the board.
      * @param startPositions
@@ -83,11 +103,121 @@ public class LevelFactory {
      * @return A new level for the board.
      */
     public Level createLevel(Board board, List<Ghost> ghosts, List<Square> startPositions) {
+        return createLevel(board, ghosts, startPositions, new PelletLayer(board.getSize()));
+    }
+
+    /**
+     * Creates a new level from the provided data.
+     *
+     * @param board
+     *            The board with all ghosts occupying their squares.
+     * @param ghosts
+     *            A list of all ghosts on the board.
+     * @param startPositions
+     *            A list of squares from which players may start the game.
+     * @param pellets
+     *            The squares of the board holding a pellet.
+     * @return A new level for the board.
+     */
+    public Level createLevel(Board board, List<Ghost> ghosts, List<Square> startPositions,
+                             PelletLayer pellets) {
+        return createLevel(board, ghosts, startPositions, pellets, null);
+    }
+
+    /**
+     * Creates a new level from the provided data, of which the ghosts share
+     * the distance table of other levels created from the same template.
+     *
+     * @param board
+     *            The board with all ghosts occupying their squares.
+     * @param ghosts
+     *            A list of all ghosts on the board.
+     * @param startPositions
+     *            A list of squares from which players may start the game.
+     * @param pellets
+     *            The squares of the board holding a pellet.
+     * @param template
+     *            The template the board was created from, or
+     *            <code>null</code> if there is none.
+     * @return A new level for the board.
+     */
+    Level createLevel(Board board, List<Ghost> ghosts, List<Square> startPositions,
+                      PelletLayer pellets, LevelTemplate template) {
 
         // We'll adopt the simple collision map for now.
         CollisionMap collisionMap = new PlayerCollisions(pointCalculator);
 
-        return new Level(board, ghosts, startPositions, collisionMap);
+        if (distanceTableLimit > 0 && board.getSize() <= distanceTableLimit
+            && !ghosts.isEmpty()) {
+            DistanceTable table = distanceTable(board, ghosts.get(0), template);
+            for (Ghost ghost : ghosts) {
+                ghost.setDistanceTable(table);
+            }
+        }
+
+        if (seeds != null) {
+            SplittableRandom levelRandom = seeds.split();
+            for (Ghost ghost : ghosts) {
+                ghost.setRandom(levelRandom.split());
+            }
+        }
+
+        TickScheduler levelScheduler = scheduler;
+        if (levelScheduler == null) {
+            levelScheduler = new TickScheduler();
+        }
+        return new Level(board, ghosts, startPositions, collisionMap, levelScheduler,
+            pellets, sprites.getPelletSprite());
+    }
+
+    private static DistanceTable distanceTable(Board board, Ghost traveller,
+                                               LevelTemplate template) {
+        if (template == null) {
+            return DistanceTable.compute(board, traveller);
+        }
+        return template.distanceTable(board, traveller);
+    }
+
+    /**
+     * Lets all levels created from now on share the given scheduler for their
+     * NPCs, e.g. {@link TickScheduler#shared()} to use a single thread for
+     * all levels in the JVM.
+     *
+     * @param npcScheduler
+     *            The scheduler to share, or <code>null</code> to give every
+     *            level a scheduler of its own.
+     */
+    public void setScheduler(TickScheduler npcScheduler) {
+        this.scheduler = npcScheduler;
+    }
+
+    /**
+     * Gives the ghosts of all levels created from now on a precomputed
+     * distance table, provided their board is small enough. A table takes
+     * {@link DistanceTable#estimateFootprint(int)} bytes.
+     *
+     * @param maxCells
+     *            The largest number of squares on a board for which a table
+     *            is computed, or zero to always search paths. Limits above
+     *            {@link DistanceTable#MAX_CELLS} are lowered to it.
+     */
+    public void setDistanceTableLimit(int maxCells) {
+        assert maxCells >= 0;
+        this.distanceTableLimit = Math.min(maxCells, DistanceTable.MAX_CELLS);
+    }
+
+    /**
+     * Makes the random choices of the ghosts on all levels created from now
+     * on depend only on the given seed, so that a game can be replayed by
+     * creating the same levels from the same seed. Every level and every
+     * ghost gets a generator of its own, so drawing from them needs no
+     * synchronisation.
+     *
+     * @param seed
+     *            The seed of the generators of the created levels.
+     */
+    public void setSeed(long seed) {
+        this.seeds = new SplittableRandom(seed);
     }
 
     /**
@@ -112,6 +242,13 @@ public class LevelFactory {
         }
     }
 
+    /**
+     * @return The value of every pellet put on a board.
+     */
+    int getPelletValue() {
+        return PELLET_VALUE;
+    }
+
     /**
      * Creates a new pellet.
      *
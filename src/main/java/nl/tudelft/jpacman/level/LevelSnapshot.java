@@ -0,0 +1,241 @@
+package nl.tudelft.jpacman.level;
+
+import java.util.function.IntConsumer;
+
+import nl.tudelft.jpacman.board.Direction;
+
+/**
+ * The state of a level at one moment, which the level can be restored to by
+ * {@link Level#restore(LevelSnapshot)}. The state is kept in a few flat
+ * arrays: the square and direction of every player and ghost, the score and
+ * fate of every player, and a copy of the pellet bit set.
+ * <p>
+ * The random generators of the ghosts and the schedule of the NPCs are not
+ * part of a snapshot.
+ */
+public final class LevelSnapshot {
+
+    /**
+     * Marks a unit without a square, or a player without a killer.
+     */
+    static final int NONE = -1;
+
+    /**
+     * The level this snapshot was taken of.
+     */
+    private final Level level;
+
+    /**
+     * The index of the square of every player and then every ghost, or
+     * {@link #NONE}.
+     */
+    private final int[] squares;
+
+    /**
+     * The indices of the players and ghosts in the order in which they have
+     * to occupy their squares, so that units sharing a square are listed in
+     * the same order again.
+     */
+    private final int[] order;
+
+    /**
+     * The direction of every player and then every ghost.
+     */
+    private final Direction[] directions;
+
+    /**
+     * The score of every player.
+     */
+    private final int[] scores;
+
+    /**
+     * Whether every player is alive.
+     */
+    private final boolean[] alive;
+
+    /**
+     * The unit index of the killer of every player, or {@link #NONE}.
+     */
+    private final int[] killers;
+
+    /**
+     * A copy of the pellet bit set.
+     */
+    private final long[] pellets;
+
+    /**
+     * Creates a new snapshot, of which the units and players are filled in
+     * by {@link #recordUnit(int, int, Direction, int[])} and
+     * {@link #recordPlayer(int, int, boolean, int)}.
+     *
+     * @param level
+     *            The level the snapshot was taken of.
+     * @param units
+     *            The number of players and ghosts on the level.
+     * @param players
+     *            The number of players on the level.
+     * @param pellets
+     *            The pellets of the level, of which a copy is taken.
+     */
+    LevelSnapshot(Level level, int units, int players, PelletLayer pellets) {
+        this.level = level;
+        this.squares = new int[units];
+        this.order = new int[units];
+        this.directions = new Direction[units];
+        this.scores = new int[players];
+        this.alive = new boolean[players];
+        this.killers = new int[players];
+        this.pellets = pellets.copyWords();
+    }
+
+    /**
+     * Records a player or ghost. Units are recorded in the order of their
+     * indices.
+     *
+     * @param unit
+     *            The index of the unit.
+     * @param square
+     *            The index of the square of the unit, or {@link #NONE}.
+     * @param direction
+     *            The direction of the unit.
+     * @param positions
+     *            The position of every unit recorded so far, including this
+     *            one, among the occupants of its square.
+     */
+    void recordUnit(int unit, int square, Direction direction, int[] positions) {
+        squares[unit] = square;
+        directions[unit] = direction;
+        int i = unit;
+        while (i > 0 && positions[order[i - 1]] > positions[unit]) {
+            order[i] = order[i - 1];
+            i--;
+        }
+        order[i] = unit;
+    }
+
+    /**
+     * Records the score and fate of a player.
+     *
+     * @param player
+     *            The index of the player.
+     * @param score
+     *            The score of the player.
+     * @param isAlive
+     *            Whether the player is alive.
+     * @param killer
+     *            The unit index of the killer of the player, or
+     *            {@link #NONE}.
+     */
+    void recordPlayer(int player, int score, boolean isAlive, int killer) {
+        scores[player] = score;
+        alive[player] = isAlive;
+        killers[player] = killer;
+    }
+
+    /**
+     * @return The level this snapshot was taken of.
+     */
+    Level getLevel() {
+        return level;
+    }
+
+    /**
+     * @return The number of players and ghosts in this snapshot.
+     */
+    int getUnits() {
+        return squares.length;
+    }
+
+    /**
+     * @param rank
+     *            The place of a unit in the order in which the units have to
+     *            occupy their squares.
+     * @return The index of the unit at that place, so that units sharing a
+     *         square are listed in the same order again.
+     */
+    int unitAt(int rank) {
+        return order[rank];
+    }
+
+    /**
+     * @param unit
+     *            The index of a player or ghost.
+     * @return The index of the square of the unit, or {@link #NONE}.
+     */
+    int getSquare(int unit) {
+        return squares[unit];
+    }
+
+    /**
+     * @param unit
+     *            The index of a player or ghost.
+     * @return The direction of the unit.
+     */
+    Direction getDirection(int unit) {
+        return directions[unit];
+    }
+
+    /**
+     * @param player
+     *            The index of a player.
+     * @return The score of the player.
+     */
+    int getScore(int player) {
+        return scores[player];
+    }
+
+    /**
+     * @param player
+     *            The index of a player.
+     * @return Whether the player was alive.
+     */
+    boolean isAlive(int player) {
+        return alive[player];
+    }
+
+    /**
+     * @param player
+     *            The index of a player.
+     * @return The unit index of the killer of the player, or {@link #NONE}.
+     */
+    int getKiller(int player) {
+        return killers[player];
+    }
+
+    /**
+     * Visits every square of which the presence of a pellet has changed
+     * since this snapshot was taken.
+     *
+     * @param layer
+     *            The pellets of the level.
+     * @param action
+     *            The action to perform with the index of each such square.
+     */
+    void forEachPelletDifference(PelletLayer layer, IntConsumer action) {
+        layer.forEachDifference(pellets, action);
+    }
+
+    /**
+     * @return The number of pellets left on the board at the moment the
+     *         snapshot was taken.
+     */
+    public int remainingPellets() {
+        int count = 0;
+        for (long word : pellets) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * @return The sum of the scores of all players at the moment the snapshot
+     *         was taken.
+     */
+    public int totalScore() {
+        int total = 0;
+        for (int score : scores) {
+            total += score;
+        }
+        return total;
+    }
+}
@@ -0,0 +1,136 @@
+package nl.tudelft.jpacman.level;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import nl.tudelft.jpacman.PacmanConfigurationException;
+import nl.tudelft.jpacman.board.Board;
+import nl.tudelft.jpacman.board.Unit;
+import nl.tudelft.jpacman.npc.DistanceTable;
+
+/**
+ * A map that has been read once, from which {@link MapParser#parseMap(LevelTemplate)}
+ * creates any number of levels. Only what every level has in common is
+ * kept: the character of every square and, once the first level's ghosts
+ * got one, the distance table of the walls. Squares, pellets and units hold
+ * the state of a game, so every level gets its own.
+ * <p>
+ * A template may be shared by levels created on different threads.
+ */
+public final class LevelTemplate {
+
+    /**
+     * The characters of the map, with map[x][y] describing the square at
+     * column x, row y.
+     */
+    private final char[][] map;
+
+    /**
+     * The distance table of the first level that got one, or
+     * <code>null</code> if none did yet.
+     */
+    private DistanceTable distanceTable;
+
+    /**
+     * Creates a new template. The map is not copied, since only the factory
+     * methods create templates, of maps they have just built themselves.
+     *
+     * @param map
+     *            The characters of the map, with map[x][y] describing the
+     *            square at column x, row y.
+     */
+    @SuppressWarnings("PMD.ArrayIsStoredDirectly")
+    private LevelTemplate(char[][] map) {
+        this.map = map;
+    }
+
+    /**
+     * Creates a template of a map given as rows of text.
+     *
+     * @param text
+     *            The rows of the map, see {@link MapParser#parseMap(List)}.
+     * @return The template of the map.
+     * @throws PacmanConfigurationException
+     *             If the rows are not properly formatted.
+     */
+    public static LevelTemplate of(List<String> text) {
+        MapParser.checkMapFormat(text);
+        char[][] map = new char[text.get(0).length()][text.size()];
+        for (int x = 0; x < map.length; x++) {
+            for (int y = 0; y < map[x].length; y++) {
+                map[x][y] = text.get(y).charAt(x);
+            }
+        }
+        return new LevelTemplate(map);
+    }
+
+    /**
+     * Creates a template of a map given as bytes.
+     *
+     * @param text
+     *            The bytes of the map, see {@link MapParser#parseMap(ByteBuffer)}.
+     * @return The template of the map.
+     * @throws PacmanConfigurationException
+     *             If the rows are not properly formatted.
+     */
+    public static LevelTemplate of(ByteBuffer text) {
+        MapRows rows = MapRows.scan(text);
+        char[][] map = new char[rows.getWidth()][rows.getHeight()];
+        for (int x = 0; x < map.length; x++) {
+            for (int y = 0; y < map[x].length; y++) {
+                map[x][y] = rows.charAt(x, y);
+            }
+        }
+        return new LevelTemplate(map);
+    }
+
+    /**
+     * @return The number of squares in every row.
+     */
+    public int getWidth() {
+        return map.length;
+    }
+
+    /**
+     * @return The number of rows.
+     */
+    public int getHeight() {
+        return map[0].length;
+    }
+
+    /**
+     * @param x
+     *            The column of the square.
+     * @param y
+     *            The row of the square.
+     * @return The character describing the square.
+     */
+    char charAt(int x, int y) {
+        return map[x][y];
+    }
+
+    /**
+     * Returns a distance table for a board created from this template. The
+     * table is computed for the first board only, later boards with the same
+     * walls share its paths.
+     *
+     * @param board
+     *            The board created from this template.
+     * @param traveller
+     *            A traveller representative for the units using the table.
+     * @return The table for the board.
+     */
+    synchronized DistanceTable distanceTable(Board board, Unit traveller) {
+        if (distanceTable != null) {
+            DistanceTable shared = distanceTable.forBoard(board, traveller);
+            if (shared != null) {
+                return shared;
+            }
+        }
+        DistanceTable table = DistanceTable.compute(board, traveller);
+        if (distanceTable == null) {
+            distanceTable = table;
+        }
+        return table;
+    }
+}
@@ -0,0 +1,56 @@
+package nl.tudelft.jpacman.level;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+import nl.tudelft.jpacman.PacmanConfigurationException;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+/**
+ * Keeps the {@link LevelTemplate} of every map resource that has been read,
+ * so that creating another level of the same map reads and parses nothing.
+ * The cache may be shared by games running on different threads.
+ */
+public class LevelTemplateCache {
+
+    /**
+     * The templates read so far, by the name of their resource.
+     */
+    private final Map<String, LevelTemplate> templates = new HashMap<>();
+
+    /**
+     * Returns the template of a map resource on the class path, which is
+     * read the first time only.
+     *
+     * @param mapName
+     *            Name of the resource holding the map.
+     * @return The template of the map.
+     * @throws IOException
+     *             when the resource could not be read.
+     * @throws PacmanConfigurationException
+     *             If there is no such resource or it is not a valid map.
+     */
+    public synchronized LevelTemplate get(String mapName) throws IOException {
+        LevelTemplate template = templates.get(mapName);
+        if (template == null) {
+            template = read(mapName);
+            templates.put(mapName, template);
+        }
+        return template;
+    }
+
+    @SuppressFBWarnings(
+        value = {"OBL_UNSATISFIED_OBLIGATION", "RCN_REDUNDANT_NULLCHECK_OF_NONNULL_VALUE"},
+        justification = "try with resources always cleans up / false positive in java 11"
+    )
+    private static LevelTemplate read(String mapName) throws IOException {
+        try (InputStream source = LevelTemplateCache.class.getResourceAsStream(mapName)) {
+            if (source == null) {
+                throw new PacmanConfigurationException("Could not get resource for: " + mapName);
+            }
+            return LevelTemplate.of(MapParser.read(source));
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package nl.tudelft.jpacman.level;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import nl.tudelft.jpacman.PacmanConfigurationException;
+
+/**
+ * Compiles text maps, as read by {@link MapParser}, into a compact binary
+ * format that {@link CompiledMapLoader} loads without parsing any text. All
+ * numbers are big-endian ints:
+ *
+ * <ul>
+ * <li>The magic bytes <code>JPM1</code>.
+ * <li>The width and height of the board.
+ * <li>The number of start positions and the number of ghosts.
+ * <li>The index of every start position and then of every ghost, as given
+ * by {@link nl.tudelft.jpacman.board.Board#indexOf}, in increasing order.
+ * <li>Two bits per square, in the order of their indices and starting at the
+ * low bits of each byte: {@link #GROUND}, {@link #WALL} or {@link #PELLET}.
+ * Start positions and ghosts are on ground.
+ * </ul>
+ *
+ * <p>Only the standard characters of {@link MapParser} are supported, not
+ * those added by subclasses overriding
+ * {@link MapParser#addSquare(nl.tudelft.jpacman.board.Square[][], List, List,
+ * PelletLayer, int, int, char) addSquare}.
+ */
+public final class MapCompiler {
+
+    /**
+     * The bytes every compiled map starts with.
+     */
+    static final byte[] MAGIC = {'J', 'P', 'M', '1'};
+
+    /**
+     * The number of bytes before the lists of start positions and ghosts.
+     */
+    static final int HEADER_SIZE = MAGIC.length + 4 * Integer.BYTES;
+
+    /**
+     * The type of an empty square.
+     */
+    static final int GROUND = 0;
+
+    /**
+     * The type of a wall.
+     */
+    static final int WALL = 1;
+
+    /**
+     * The type of a square with a pellet.
+     */
+    static final int PELLET = 2;
+
+    /**
+     * The number of bits per square.
+     */
+    static final int SQUARE_BITS = 2;
+
+    /**
+     * The mask of the bits of one square.
+     */
+    static final int SQUARE_MASK = (1 << SQUARE_BITS) - 1;
+
+    /**
+     * The number of squares packed into one byte.
+     */
+    static final int SQUARES_PER_BYTE = Byte.SIZE / SQUARE_BITS;
+
+    private MapCompiler() {
+    }
+
+    /**
+     * Compiles a text map.
+     *
+     * @param text
+     *            The bytes of the text map, see {@link MapParser#parseMap(ByteBuffer)}.
+     * @return The compiled map.
+     * @throws PacmanConfigurationException
+     *             If the text is not a valid map.
+     */
+    public static byte[] compile(ByteBuffer text) {
+        MapRows rows = MapRows.scan(text);
+        int width = rows.getWidth();
+        int height = rows.getHeight();
+        byte[] squares = new byte[packedSize(width, height)];
+        List<Integer> starts = new ArrayList<>();
+        List<Integer> ghosts = new ArrayList<>();
+        int index = 0;
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                char c = rows.charAt(x, y);
+                if (c == 'P') {
+                    starts.add(index);
+                } else if (c == 'G') {
+                    ghosts.add(index);
+                }
+                squares[index / SQUARES_PER_BYTE] |=
+                    (byte) (typeOf(c, x, y) << (index % SQUARES_PER_BYTE * SQUARE_BITS));
+                index++;
+            }
+        }
+
+        ByteBuffer compiled = ByteBuffer.allocate(HEADER_SIZE
+            + (starts.size() + ghosts.size()) * Integer.BYTES + squares.length);
+        compiled.put(MAGIC).putInt(width).putInt(height)
+            .putInt(starts.size()).putInt(ghosts.size());
+        starts.forEach(compiled::putInt);
+        ghosts.forEach(compiled::putInt);
+        return compiled.put(squares).array();
+    }
+
+    /**
+     * Compiles a text map file.
+     *
+     * @param text
+     *            The text map file.
+     * @param target
+     *            The file to write the compiled map to.
+     * @throws IOException
+     *             When a file could not be read or written.
+     */
+    public static void compile(Path text, Path target) throws IOException {
+        byte[] compiled;
+        try (FileChannel channel = FileChannel.open(text, StandardOpenOption.READ)) {
+            compiled = compile(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+        Files.write(target, compiled);
+    }
+
+    /**
+     * @param width
+     *            The width of a board.
+     * @param height
+     *            The height of a board.
+     * @return The number of bytes the squares of the board are packed into.
+     * @throws PacmanConfigurationException
+     *             If the board has more squares than can be indexed.
+     */
+    static int packedSize(int width, int height) {
+        long size = (long) width * height;
+        if (size > Integer.MAX_VALUE) {
+            throw new PacmanConfigurationException("Map too large: " + width + "x" + height);
+        }
+        return (int) ((size + SQUARES_PER_BYTE - 1) / SQUARES_PER_BYTE);
+    }
+
+    /**
+     * @param c
+     *            The character describing a square.
+     * @param x
+     *            The column of the square.
+     * @param y
+     *            The row of the square.
+     * @return The type the square is stored as.
+     */
+    private static int typeOf(char c, int x, int y) {
+        switch (c) {
+            case ' ':
+            case 'P':
+            case 'G':
+                return GROUND;
+            case '#':
+                return WALL;
+            case '.':
+                return PELLET;
+            default:
+                throw new PacmanConfigurationException("Invalid character at "
+                    + x + "," + y + ": " + c);
+        }
+    }
+
+    /**
+     * Compiles the text map file given as the first argument into the file
+     * given as the second argument.
+     *
+     * @param args
+     *            The text map file and the compiled map file.
+     * @throws IOException
+     *             When a file could not be read or written.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            throw new IllegalArgumentException("Usage: MapCompiler <text map> <compiled map>");
+        }
+        compile(Paths.get(args[0]), Paths.get(args[1]));
+    }
+}
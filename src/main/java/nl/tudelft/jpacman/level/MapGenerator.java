@@ -0,0 +1,413 @@
+package nl.tudelft.jpacman.level;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import nl.tudelft.jpacman.PacmanConfigurationException;
+
+/**
+ * Generates mazes of any size in the text format of {@link MapParser}, for
+ * tests and benchmarks that need boards larger than the default one.
+ * <p>
+ * The squares at odd columns and rows are the cells of the maze. A
+ * sidewinder maze connects all of them. It is carved one row at a time, so
+ * no memory beyond the map itself is needed. Some of the remaining walls
+ * between cells are then knocked down to make loops, and some rows lead
+ * through the left and right edges of the board, which wrap around.
+ * Open squares get a pellet at random, one cell near the centre is the start
+ * position and ghosts are put on random cells.
+ * <p>
+ * The same seed and settings always give the same maze.
+ */
+public final class MapGenerator {
+
+    /**
+     * The default fraction of open squares with a pellet.
+     */
+    public static final double DEFAULT_PELLET_DENSITY = 0.9;
+
+    /**
+     * The default fraction of the walls between cells knocked down to make
+     * loops.
+     */
+    public static final double DEFAULT_OPENNESS = 0.2;
+
+    /**
+     * The default number of ghosts.
+     */
+    public static final int DEFAULT_GHOSTS = 4;
+
+    /**
+     * The default number of rows leading through the edges of the board.
+     */
+    public static final int DEFAULT_TUNNELS = 1;
+
+    /**
+     * The smallest width and height of a maze.
+     */
+    private static final int MIN_SIZE = 3;
+
+    /**
+     * The number of command line arguments of {@link #main(String[])}.
+     */
+    private static final int ARGUMENTS = 4;
+
+    /**
+     * The character of a wall square.
+     */
+    private static final byte WALL = '#';
+
+    /**
+     * The character of an empty open square.
+     */
+    private static final byte GROUND = ' ';
+
+    /**
+     * The character of an open square with a pellet.
+     */
+    private static final byte PELLET = '.';
+
+    /**
+     * The character of the start position of the player.
+     */
+    private static final byte PLAYER = 'P';
+
+    /**
+     * The character of the start position of a ghost.
+     */
+    private static final byte GHOST = 'G';
+
+    /**
+     * The character that ends every row.
+     */
+    private static final byte LINE_BREAK = '\n';
+
+    /**
+     * The number of squares in every row.
+     */
+    private final int width;
+
+    /**
+     * The number of rows.
+     */
+    private final int height;
+
+    /**
+     * The seed of the random choices.
+     */
+    private final long seed;
+
+    /**
+     * The fraction of open squares with a pellet.
+     */
+    private double pelletDensity = DEFAULT_PELLET_DENSITY;
+
+    /**
+     * The fraction of the walls between cells knocked down to make loops.
+     */
+    private double openness = DEFAULT_OPENNESS;
+
+    /**
+     * The number of ghosts.
+     */
+    private int ghosts = DEFAULT_GHOSTS;
+
+    /**
+     * The number of rows leading through the edges of the board.
+     */
+    private int tunnels = DEFAULT_TUNNELS;
+
+    /**
+     * Creates a generator of mazes with the default settings.
+     *
+     * @param width
+     *            The number of squares in every row, at least 3.
+     * @param height
+     *            The number of rows, at least 3.
+     * @param seed
+     *            The seed of the random choices.
+     */
+    public MapGenerator(int width, int height, long seed) {
+        assert width >= MIN_SIZE && height >= MIN_SIZE;
+        this.width = width;
+        this.height = height;
+        this.seed = seed;
+    }
+
+    /**
+     * @param density
+     *            The fraction of open squares with a pellet, between 0 and 1.
+     * @return This generator.
+     */
+    public MapGenerator withPelletDensity(double density) {
+        assert density >= 0 && density <= 1;
+        this.pelletDensity = density;
+        return this;
+    }
+
+    /**
+     * @param fraction
+     *            The fraction of the walls between cells knocked down to
+     *            make loops, between 0 for a maze without loops and 1 for
+     *            a grid of pillars.
+     * @return This generator.
+     */
+    public MapGenerator withOpenness(double fraction) {
+        assert fraction >= 0 && fraction <= 1;
+        this.openness = fraction;
+        return this;
+    }
+
+    /**
+     * @param count
+     *            The number of ghosts, fewer than the cells of the maze.
+     * @return This generator.
+     */
+    public MapGenerator withGhosts(int count) {
+        assert count >= 0;
+        this.ghosts = count;
+        return this;
+    }
+
+    /**
+     * @param count
+     *            The number of rows leading through the left and right edges
+     *            of the board. Rows may be picked more than once.
+     * @return This generator.
+     */
+    public MapGenerator withTunnels(int count) {
+        assert count >= 0;
+        this.tunnels = count;
+        return this;
+    }
+
+    /**
+     * Generates a maze.
+     *
+     * @return The bytes of the map, with a line break after every row, as
+     *         read by {@link MapParser#parseMap(ByteBuffer)}.
+     * @throws PacmanConfigurationException
+     *             If the map would not fit in a byte buffer, or if there are
+     *             not enough cells for the ghosts and the player.
+     */
+    public ByteBuffer generate() {
+        if ((long) ghosts >= (long) cellColumns() * cellRows()) {
+            throw new PacmanConfigurationException(
+                "More ghosts than cells: " + ghosts + " in " + width + "x" + height);
+        }
+        long size = (long) (width + 1) * height;
+        if (size > Integer.MAX_VALUE) {
+            throw new PacmanConfigurationException("Map too large: " + width + "x" + height);
+        }
+        byte[] map = new byte[(int) size];
+        Arrays.fill(map, WALL);
+        for (int y = 0; y < height; y++) {
+            map[index(width, y)] = LINE_BREAK;
+        }
+        SplittableRandom random = new SplittableRandom(seed);
+        carveMaze(map, random);
+        openWalls(map, random);
+        openTunnels(map, random);
+        placePellets(map, random);
+        placeUnits(map, random);
+        return ByteBuffer.wrap(map);
+    }
+
+    /**
+     * Generates a maze and creates a level of it.
+     *
+     * @param parser
+     *            The parser creating the level.
+     * @return A new level of a generated maze.
+     */
+    public Level createLevel(MapParser parser) {
+        return parser.parseMap(generate());
+    }
+
+    /**
+     * Generates a maze of which any number of levels can be created.
+     *
+     * @return The template of a generated maze.
+     */
+    public LevelTemplate createTemplate() {
+        return LevelTemplate.of(generate());
+    }
+
+    /**
+     * Generates a maze and writes it to a file.
+     *
+     * @param file
+     *            The file to write the map to.
+     * @throws IOException
+     *             When the file could not be written.
+     */
+    public void write(Path file) throws IOException {
+        ByteBuffer map = generate();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (map.hasRemaining()) {
+                channel.write(map);
+            }
+        }
+    }
+
+    /**
+     * Carves a maze connecting all cells, one row at a time: the top row is
+     * a single corridor, and every other row is split into runs of cells
+     * connected to the east, each connected to the row above at one of its
+     * cells.
+     *
+     * @param map
+     *            The map, filled with walls.
+     * @param random
+     *            The source of the random choices.
+     */
+    private void carveMaze(byte[] map, SplittableRandom random) {
+        int columns = cellColumns();
+        for (int row = 0; row < cellRows(); row++) {
+            int y = 2 * row + 1;
+            int runStart = 0;
+            for (int column = 0; column < columns; column++) {
+                int x = 2 * column + 1;
+                map[index(x, y)] = GROUND;
+                boolean atEast = column == columns - 1;
+                if (row > 0 && (atEast || random.nextBoolean())) {
+                    int chosen = runStart + random.nextInt(column - runStart + 1);
+                    map[index(2 * chosen + 1, y - 1)] = GROUND;
+                    runStart = column + 1;
+                } else if (!atEast) {
+                    map[index(x + 1, y)] = GROUND;
+                }
+            }
+        }
+    }
+
+    /**
+     * Knocks down walls between neighbouring cells at random. This only adds
+     * paths, so all cells stay connected.
+     *
+     * @param map
+     *            The map with a carved maze.
+     * @param random
+     *            The source of the random choices.
+     */
+    private void openWalls(byte[] map, SplittableRandom random) {
+        int right = 2 * cellColumns() - 1;
+        int bottom = 2 * cellRows() - 1;
+        for (int y = 1; y <= bottom; y++) {
+            int first = 1 + y % 2;
+            for (int x = first; x <= right; x += 2) {
+                int square = index(x, y);
+                if (map[square] == WALL && random.nextDouble() < openness) {
+                    map[square] = GROUND;
+                }
+            }
+        }
+    }
+
+    /**
+     * Opens the left and right edges of random rows of cells, so that they
+     * lead to each other around the board.
+     *
+     * @param map
+     *            The map with a carved maze.
+     * @param random
+     *            The source of the random choices.
+     */
+    private void openTunnels(byte[] map, SplittableRandom random) {
+        for (int i = 0; i < tunnels; i++) {
+            int y = 2 * random.nextInt(cellRows()) + 1;
+            for (int x = 2 * cellColumns(); x < width; x++) {
+                map[index(x, y)] = GROUND;
+            }
+            map[index(0, y)] = GROUND;
+        }
+    }
+
+    /**
+     * Puts pellets on open squares at random.
+     *
+     * @param map
+     *            The map with all paths opened.
+     * @param random
+     *            The source of the random choices.
+     */
+    private void placePellets(byte[] map, SplittableRandom random) {
+        for (int square = 0; square < map.length; square++) {
+            if (map[square] == GROUND && random.nextDouble() < pelletDensity) {
+                map[square] = PELLET;
+            }
+        }
+    }
+
+    /**
+     * Puts the start position on the cell nearest to the centre and the
+     * ghosts on random other cells.
+     *
+     * @param map
+     *            The map with all paths opened.
+     * @param random
+     *            The source of the random choices.
+     */
+    private void placeUnits(byte[] map, SplittableRandom random) {
+        map[index(2 * (cellColumns() / 2) + 1, 2 * (cellRows() / 2) + 1)] = PLAYER;
+        int placed = 0;
+        while (placed < ghosts) {
+            int square = index(2 * random.nextInt(cellColumns()) + 1,
+                2 * random.nextInt(cellRows()) + 1);
+            if (map[square] != PLAYER && map[square] != GHOST) {
+                map[square] = GHOST;
+                placed++;
+            }
+        }
+    }
+
+    /**
+     * @return The number of cells in every row of cells.
+     */
+    private int cellColumns() {
+        return (width - 1) / 2;
+    }
+
+    /**
+     * @return The number of rows of cells.
+     */
+    private int cellRows() {
+        return (height - 1) / 2;
+    }
+
+    /**
+     * @param x
+     *            The column of a square.
+     * @param y
+     *            The row of a square.
+     * @return The position of the square in the map.
+     */
+    private int index(int x, int y) {
+        return y * (width + 1) + x;
+    }
+
+    /**
+     * Writes a generated maze to a file, with the default settings.
+     *
+     * @param args
+     *            The width, height and seed of the maze and the file to
+     *            write it to.
+     * @throws IOException
+     *             When the file could not be written.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != ARGUMENTS) {
+            throw new IllegalArgumentException(
+                "Usage: MapGenerator <width> <height> <seed> <map file>");
+        }
+        new MapGenerator(Integer.parseInt(args[0]), Integer.parseInt(args[1]),
+            Long.parseLong(args[2])).write(Paths.get(args[ARGUMENTS - 1]));
+    }
+}
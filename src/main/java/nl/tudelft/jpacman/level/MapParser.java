@@ -1,9 +1,13 @@
 package nl.tudelft.jpacman.level;
 
-import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -21,6 +25,21 @@ import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
  */
 public class MapParser {
 
+    /**
+     * The number of bytes room is made for when reading a stream.
+     */
+    private static final int CHUNK = 8192;
+
+    /**
+     * The character of a square with a ghost.
+     */
+    private static final char GHOST = 'G';
+
+    /**
+     * The character of a starting square for players.
+     */
+    private static final char START = 'P';
+
     /**
      * The factory that creates the levels.
      */
@@ -69,19 +88,35 @@ public class MapParser {
 
         List<Ghost> ghosts = new ArrayList<>();
         List<Square> startPositions = new ArrayList<>();
+        PelletLayer pellets = new PelletLayer(width * height);
 
-        makeGrid(map, width, height, grid, ghosts, startPositions);
+        makeGrid((x, y) -> map[x][y], grid, ghosts, startPositions, pellets);
 
         Board board = boardCreator.createBoard(grid);
-        return levelCreator.createLevel(board, ghosts, startPositions);
+        return levelCreator.createLevel(board, ghosts, startPositions, pellets);
     }
 
-    private void makeGrid(char[][] map, int width, int height,
-                          Square[][] grid, List<Ghost> ghosts, List<Square> startPositions) {
-        for (int x = 0; x < width; x++) {
-            for (int y = 0; y < height; y++) {
-                char c = map[x][y];
-                addSquare(grid, ghosts, startPositions, x, y, c);
+    /**
+     * Adds the squares of a map to the grid, column by column, so that the
+     * ghosts, including those added by subclasses, get their types and the
+     * lists their order as they always have.
+     *
+     * @param map
+     *            The characters describing the squares.
+     * @param grid
+     *            The grid of squares to fill, as wide and high as the map.
+     * @param ghosts
+     *            List of all ghosts that were added to the map.
+     * @param startPositions
+     *            List of all start positions that were added to the map.
+     * @param pellets
+     *            The layer to put the pellets of the map on.
+     */
+    private void makeGrid(MapSource map, Square[][] grid, List<Ghost> ghosts,
+                          List<Square> startPositions, PelletLayer pellets) {
+        for (int x = 0; x < grid.length; x++) {
+            for (int y = 0; y < grid[x].length; y++) {
+                addSquare(grid, ghosts, startPositions, pellets, x, y, map.charAt(x, y));
             }
         }
     }
@@ -99,6 +134,9 @@ public class MapParser {
      * @param startPositions
      *            List of all start positions that were added
      *            to the map.
+     * @param pellets
+     *            The layer holding the pellets of the map, with the squares
+     *            numbered column by column.
      * @param x
      *            x coordinate of the square.
      * @param y
@@ -106,8 +144,8 @@ public class MapParser {
      * @param c
      *            Character describing the square type.
      */
-    protected void addSquare(Square[][] grid, List<Ghost> ghosts,
-                             List<Square> startPositions, int x, int y, char c) {
+    protected void addSquare(Square[][] grid, List<Ghost> ghosts, List<Square> startPositions,
+                             PelletLayer pellets, int x, int y, char c) {
         switch (c) {
             case ' ':
                 grid[x][y] = boardCreator.createGround();
@@ -116,15 +154,14 @@ public class MapParser {
                 grid[x][y] = boardCreator.createWall();
                 break;
             case '.':
-                Square pelletSquare = boardCreator.createGround();
-                grid[x][y] = pelletSquare;
-                levelCreator.createPellet().occupy(pelletSquare);
+                grid[x][y] = boardCreator.createGround();
+                pellets.add(x * grid[x].length + y, levelCreator.getPelletValue());
                 break;
-            case 'G':
+            case GHOST:
                 Square ghostSquare = makeGhostSquare(ghosts, levelCreator.createGhost());
                 grid[x][y] = ghostSquare;
                 break;
-            case 'P':
+            case START:
                 Square playerSquare = boardCreator.createGround();
                 grid[x][y] = playerSquare;
                 startPositions.add(playerSquare);
@@ -182,35 +219,99 @@ public class MapParser {
      * @param text Map to be checked
      * @throws PacmanConfigurationException if map is not OK.
      */
-    private void checkMapFormat(List<String> text) {
+    static void checkMapFormat(List<String> text) {
         if (text == null) {
             throw new PacmanConfigurationException(
                 "Input text cannot be null.");
         }
 
         if (text.isEmpty()) {
-            throw new PacmanConfigurationException(
-                "Input text must consist of at least 1 row.");
+            throw new PacmanConfigurationException(MapRows.NO_ROWS);
         }
 
         int width = text.get(0).length();
 
         if (width == 0) {
-            throw new PacmanConfigurationException(
-                "Input text lines cannot be empty.");
+            throw new PacmanConfigurationException(MapRows.EMPTY_ROW);
         }
 
         for (String line : text) {
             if (line.length() != width) {
-                throw new PacmanConfigurationException(
-                    "Input text lines are not of equal width.");
+                throw new PacmanConfigurationException(MapRows.UNEQUAL_ROWS);
             }
         }
     }
 
     /**
-     * Parses the provided input stream as a character stream and passes it
-     * result to {@link #parseMap(List)}.
+     * Parses a map of one byte per square, with the rows separated by line
+     * breaks (<code>\n</code> or <code>\r\n</code>) and an optional line
+     * break at the end.
+     * <p>
+     * The rows are scanned once, checking their widths on the way and
+     * remembering only where every row starts. The squares are then created
+     * straight from the bytes. No copy of the map is made, so a memory
+     * mapped file is never loaded into the heap.
+     *
+     * @param text
+     *            The bytes of the map, from its position up to its limit.
+     * @return The level as represented by the bytes.
+     * @throws PacmanConfigurationException
+     *             If the rows are not properly formatted.
+     */
+    public Level parseMap(ByteBuffer text) {
+        MapRows rows = MapRows.scan(text);
+        int width = rows.getWidth();
+        int height = rows.getHeight();
+        Square[][] grid = new Square[width][height];
+        List<Ghost> ghosts = new ArrayList<>();
+        List<Square> startPositions = new ArrayList<>();
+        PelletLayer pellets = new PelletLayer(width * height);
+        makeGrid(rows::charAt, grid, ghosts, startPositions, pellets);
+        Board board = boardCreator.createBoard(grid);
+        return levelCreator.createLevel(board, ghosts, startPositions, pellets);
+    }
+
+    /**
+     * Creates a new level from a map that has been read before. Every level
+     * gets squares, pellets and ghosts of its own, created just like
+     * {@link #parseMap(char[][])} creates them, but no text is read and the
+     * ghosts share the distance table of the template, if they get one.
+     *
+     * @param template
+     *            The map to create the level of.
+     * @return A new level as represented by the template.
+     */
+    public Level parseMap(LevelTemplate template) {
+        int width = template.getWidth();
+        int height = template.getHeight();
+        Square[][] grid = new Square[width][height];
+        List<Ghost> ghosts = new ArrayList<>();
+        List<Square> startPositions = new ArrayList<>();
+        PelletLayer pellets = new PelletLayer(width * height);
+        makeGrid(template::charAt, grid, ghosts, startPositions, pellets);
+        Board board = boardCreator.createBoard(grid);
+        return levelCreator.createLevel(board, ghosts, startPositions, pellets, template);
+    }
+
+    /**
+     * Parses a map file by mapping it into memory, see
+     * {@link #parseMap(ByteBuffer)}.
+     *
+     * @param file
+     *            The map file, which must be smaller than 2 GB.
+     * @return The parsed level as represented by the file.
+     * @throws IOException
+     *             when the file could not be read.
+     */
+    public Level parseMap(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return parseMap(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Reads the provided input stream up to its end and passes the bytes on
+     * to {@link #parseMap(ByteBuffer)}.
      *
      * @param source
      *            The input stream that will be read.
@@ -219,19 +320,37 @@ public class MapParser {
      *             when the source could not be read.
      */
     public Level parseMap(InputStream source) throws IOException {
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
-            source, "UTF-8"))) {
-            List<String> lines = new ArrayList<>();
-            while (reader.ready()) {
-                lines.add(reader.readLine());
+        return parseMap(read(source));
+    }
+
+    /**
+     * Reads an input stream up to its end.
+     *
+     * @param source
+     *            The input stream that will be read and closed.
+     * @return The bytes read, from position zero up to the limit.
+     * @throws IOException
+     *             when the source could not be read.
+     */
+    static ByteBuffer read(InputStream source) throws IOException {
+        try (ReadableByteChannel channel = Channels.newChannel(source)) {
+            ByteBuffer text = ByteBuffer.allocate(Math.max(CHUNK, source.available()));
+            while (channel.read(text) >= 0) {
+                if (!text.hasRemaining()) {
+                    ByteBuffer larger = ByteBuffer.allocate(text.capacity() * 2);
+                    text.flip();
+                    larger.put(text);
+                    text = larger;
+                }
             }
-            return parseMap(lines);
+            text.flip();
+            return text;
         }
     }
 
     /**
-     * Parses the provided input stream as a character stream and passes it
-     * result to {@link #parseMap(List)}.
+     * Reads a resource on the class path and passes it on to
+     * {@link #parseMap(InputStream)}.
      *
      * @param mapName
      *            Name of a resource that will be read.
@@ -258,4 +377,20 @@ public class MapParser {
     protected BoardFactory getBoardCreator() {
         return boardCreator;
     }
+
+    /**
+     * The characters of a map, whichever way it is held.
+     */
+    @FunctionalInterface
+    interface MapSource {
+
+        /**
+         * @param x
+         *            The column of the square.
+         * @param y
+         *            The row of the square.
+         * @return The character describing the square.
+         */
+        char charAt(int x, int y);
+    }
 }
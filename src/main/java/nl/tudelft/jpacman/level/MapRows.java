@@ -0,0 +1,175 @@
+package nl.tudelft.jpacman.level;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import nl.tudelft.jpacman.PacmanConfigurationException;
+
+/**
+ * The rows of a text map held in a byte buffer, with one byte per square
+ * and the rows separated by line breaks (<code>\n</code> or
+ * <code>\r\n</code>) and an optional line break at the end. Only the
+ * position of every row is kept, the squares are read from the buffer.
+ */
+final class MapRows {
+
+    /**
+     * Error message for maps without rows.
+     */
+    static final String NO_ROWS = "Input text must consist of at least 1 row.";
+
+    /**
+     * Error message for maps with an empty first row.
+     */
+    static final String EMPTY_ROW = "Input text lines cannot be empty.";
+
+    /**
+     * Error message for maps with rows of different widths.
+     */
+    static final String UNEQUAL_ROWS = "Input text lines are not of equal width.";
+
+    /**
+     * The number of rows room is made for at first.
+     */
+    private static final int INITIAL_ROWS = 1024;
+
+    /**
+     * The bits of a byte, to read it as an unsigned character.
+     */
+    private static final int BYTE_MASK = 0xFF;
+
+    /**
+     * The bytes of the map.
+     */
+    private final ByteBuffer text;
+
+    /**
+     * The position of every row, with room to spare at the end.
+     */
+    private final int[] rows;
+
+    /**
+     * The number of squares in every row.
+     */
+    private final int width;
+
+    /**
+     * The number of rows.
+     */
+    private final int height;
+
+    /**
+     * Creates the rows of a map that has been scanned. The positions are not
+     * copied, since only {@link #scan(ByteBuffer)} creates rows, of
+     * positions it has just found itself.
+     *
+     * @param text
+     *            The bytes of the map.
+     * @param rows
+     *            The position of every row.
+     * @param width
+     *            The number of squares in every row.
+     * @param height
+     *            The number of rows.
+     */
+    @SuppressWarnings("PMD.ArrayIsStoredDirectly")
+    private MapRows(ByteBuffer text, int[] rows, int width, int height) {
+        this.text = text;
+        this.rows = rows;
+        this.width = width;
+        this.height = height;
+    }
+
+    /**
+     * Scans the rows of a map once, checking their widths on the way.
+     *
+     * @param text
+     *            The bytes of the map, from its position up to its limit.
+     * @return The rows of the map.
+     * @throws PacmanConfigurationException
+     *             If the rows are not properly formatted.
+     */
+    static MapRows scan(ByteBuffer text) {
+        int[] rows = new int[INITIAL_ROWS];
+        int height = 0;
+        int width = -1;
+        int position = text.position();
+        while (position < text.limit()) {
+            int end = position;
+            while (end < text.limit() && text.get(end) != '\r' && text.get(end) != '\n') {
+                end++;
+            }
+            if (width < 0) {
+                width = checkFirstRow(end - position);
+            } else if (end - position != width) {
+                throw new PacmanConfigurationException(UNEQUAL_ROWS);
+            }
+            if (height == rows.length) {
+                rows = Arrays.copyOf(rows, height * 2);
+            }
+            rows[height++] = position;
+            position = skipLineBreak(text, end);
+        }
+        if (height == 0) {
+            throw new PacmanConfigurationException(NO_ROWS);
+        }
+        return new MapRows(text, rows, width, height);
+    }
+
+    /**
+     * @param width
+     *            The width of the first row.
+     * @return The width, which all rows must have.
+     * @throws PacmanConfigurationException
+     *             If the row is empty.
+     */
+    private static int checkFirstRow(int width) {
+        if (width == 0) {
+            throw new PacmanConfigurationException(EMPTY_ROW);
+        }
+        return width;
+    }
+
+    /**
+     * @param text
+     *            The bytes of the map.
+     * @param end
+     *            The position right after the last square of a row.
+     * @return The position of the next row.
+     */
+    private static int skipLineBreak(ByteBuffer text, int end) {
+        int next = end;
+        if (next < text.limit() && text.get(next) == '\r') {
+            next++;
+        }
+        if (next < text.limit() && text.get(next) == '\n') {
+            next++;
+        }
+        return next;
+    }
+
+    /**
+     * @return The number of squares in every row.
+     */
+    int getWidth() {
+        return width;
+    }
+
+    /**
+     * @return The number of rows.
+     */
+    int getHeight() {
+        return height;
+    }
+
+    /**
+     * @param x
+     *            The column of the square.
+     * @param y
+     *            The row of the square.
+     * @return The character describing the square.
+     */
+    char charAt(int x, int y) {
+        return (char) (text.get(rows[y] + x) & BYTE_MASK);
+    }
+}
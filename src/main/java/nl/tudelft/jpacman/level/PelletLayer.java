@@ -0,0 +1,189 @@
+package nl.tudelft.jpacman.level;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * The squares of a board that hold a pellet, kept as one bit per square.
+ * Pellets are not units occupying their squares: {@link MapParser} only sets
+ * their bits, and a level clears a bit when its pellet is eaten. Squares are
+ * numbered as by
+ * {@link nl.tudelft.jpacman.board.Board#indexOf(nl.tudelft.jpacman.board.Square)}.
+ * <p>
+ * As long as all pellets are worth the same, which is the case for boards
+ * read by {@link MapParser}, their value is stored once. A value per square is
+ * only allocated once pellets of different values are added. The value of a
+ * removed pellet is kept, so that it can be put back.
+ */
+public final class PelletLayer {
+
+    /**
+     * The number of squares per word of the bit set.
+     */
+    private static final int WORD_SIZE = Long.SIZE;
+
+    /**
+     * The bit set, with bit <code>i % 64</code> of word <code>i / 64</code>
+     * being set iff square <code>i</code> holds a pellet.
+     */
+    private final long[] bits;
+
+    /**
+     * The number of squares covered.
+     */
+    private final int size;
+
+    /**
+     * Whether a pellet was ever added, fixing {@link #uniformValue}.
+     */
+    private boolean valued;
+
+    /**
+     * The value of all pellets, as long as they are all worth the same.
+     */
+    private int uniformValue;
+
+    /**
+     * The value of the pellet on every square, or <code>null</code> if all
+     * pellets are worth {@link #uniformValue}.
+     */
+    private int[] values;
+
+    /**
+     * Creates an empty layer.
+     *
+     * @param size
+     *            The number of squares on the board.
+     */
+    public PelletLayer(int size) {
+        assert size >= 0;
+        this.size = size;
+        this.bits = new long[(size + WORD_SIZE - 1) / WORD_SIZE];
+    }
+
+    /**
+     * Puts a pellet on a square.
+     *
+     * @param index
+     *            The index of the square.
+     * @param value
+     *            The value of the pellet.
+     */
+    void add(int index, int value) {
+        assert index >= 0 && index < size;
+        if (!valued) {
+            uniformValue = value;
+            valued = true;
+        } else if (values == null && value != uniformValue) {
+            values = new int[size];
+            Arrays.fill(values, uniformValue);
+        }
+        if (values != null) {
+            values[index] = value;
+        }
+        bits[index / WORD_SIZE] |= 1L << index;
+    }
+
+    /**
+     * Removes the pellet from a square, if there is one.
+     *
+     * @param index
+     *            The index of the square.
+     * @return <code>true</code> iff the square held a pellet.
+     */
+    boolean remove(int index) {
+        assert index >= 0 && index < size;
+        boolean present = contains(index);
+        bits[index / WORD_SIZE] &= ~(1L << index);
+        return present;
+    }
+
+    /**
+     * Puts a removed pellet back on its square, with the value it had, or
+     * removes the pellet on it.
+     *
+     * @param index
+     *            The index of a square that held a pellet before.
+     * @return <code>true</code> iff the square holds a pellet now.
+     */
+    boolean flip(int index) {
+        assert index >= 0 && index < size && valued;
+        bits[index / WORD_SIZE] ^= 1L << index;
+        return contains(index);
+    }
+
+    /**
+     * Determines whether a square holds a pellet.
+     *
+     * @param index
+     *            The index of the square.
+     * @return <code>true</code> iff the square holds a pellet.
+     */
+    public boolean contains(int index) {
+        assert index >= 0 && index < size;
+        return (bits[index / WORD_SIZE] & 1L << index) != 0;
+    }
+
+    /**
+     * Returns the value of the pellet on a square.
+     * Precondition: <code>contains(index)</code>.
+     *
+     * @param index
+     *            The index of the square.
+     * @return The value of the pellet.
+     */
+    public int valueAt(int index) {
+        assert contains(index);
+        if (values == null) {
+            return uniformValue;
+        }
+        return values[index];
+    }
+
+    /**
+     * Counts the pellets with one population count per 64 squares.
+     *
+     * @return The number of squares holding a pellet.
+     */
+    public int count() {
+        int count = 0;
+        for (long word : bits) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * @return A copy of the bit set, to compare the layer with later on.
+     */
+    long[] copyWords() {
+        return bits.clone();
+    }
+
+    /**
+     * Visits every square of which the presence of a pellet differs from an
+     * earlier copy of the bit set, skipping 64 equal squares at a time.
+     *
+     * @param words
+     *            A copy of the bit set, taken by {@link #copyWords()}.
+     * @param action
+     *            The action to perform with the index of each such square.
+     */
+    void forEachDifference(long[] words, IntConsumer action) {
+        assert words.length == bits.length;
+        for (int i = 0; i < bits.length; i++) {
+            long difference = bits[i] ^ words[i];
+            while (difference != 0) {
+                action.accept(i * WORD_SIZE + Long.numberOfTrailingZeros(difference));
+                difference &= difference - 1;
+            }
+        }
+    }
+
+    /**
+     * @return The number of squares covered by this layer.
+     */
+    public int size() {
+        return size;
+    }
+}
@@ -0,0 +1,467 @@
+package nl.tudelft.jpacman.level;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs recurring tasks, such as NPC moves, from a single thread. Tasks are
+ * kept in a hashed timing wheel that is advanced at a fixed resolution, so
+ * any number of tasks (and levels) can share one thread.
+ * <p>
+ * The thread is only alive while tasks are scheduled. A scheduler can either
+ * be owned by a single level or be shared by all levels in the JVM, see
+ * {@link #shared()}. A {@link #manual()} scheduler has no thread at all and
+ * only advances when told to, which makes time a logical quantity.
+ */
+public class TickScheduler {
+
+    /**
+     * The default duration of a single tick in milliseconds.
+     */
+    public static final long DEFAULT_RESOLUTION = 10L;
+
+    /**
+     * The number of slots in the wheel, must be a power of two.
+     */
+    private static final int WHEEL_SIZE = 128;
+
+    /**
+     * The scheduler shared by all levels that opt in to it.
+     */
+    private static TickScheduler sharedScheduler;
+
+    /**
+     * The duration of a single tick in milliseconds.
+     */
+    private final long resolution;
+
+    /**
+     * <code>true</code> iff the wheel is only advanced by {@link #advance()}.
+     */
+    private final boolean manual;
+
+    /**
+     * The slots of the wheel, each holding the tasks due in a tick that maps
+     * onto that slot.
+     */
+    private final List<List<ScheduledTask>> wheel;
+
+    /**
+     * The number of ticks that have passed.
+     */
+    private long currentTick;
+
+    /**
+     * The number of tasks currently scheduled.
+     */
+    private int pending;
+
+    /**
+     * The service advancing the wheel, or <code>null</code> if no tasks are
+     * scheduled.
+     */
+    private ScheduledExecutorService service;
+
+    /**
+     * The number of task executions so far.
+     */
+    private long executions;
+
+    /**
+     * The sum of the scheduling lag of all executions, in nanoseconds.
+     */
+    private long totalLag;
+
+    /**
+     * The largest scheduling lag of a single execution, in nanoseconds.
+     */
+    private long maximumLag;
+
+    /**
+     * Creates a new scheduler with the default resolution.
+     */
+    public TickScheduler() {
+        this(DEFAULT_RESOLUTION);
+    }
+
+    /**
+     * Creates a new scheduler.
+     *
+     * @param resolution
+     *            The duration of a single tick in milliseconds.
+     */
+    public TickScheduler(long resolution) {
+        this(resolution, false);
+    }
+
+    private TickScheduler(long resolution, boolean manual) {
+        assert resolution > 0;
+        this.resolution = resolution;
+        this.manual = manual;
+        this.wheel = new ArrayList<>(WHEEL_SIZE);
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            wheel.add(new ArrayList<>());
+        }
+    }
+
+    /**
+     * Returns the scheduler that is shared by all levels in this JVM.
+     *
+     * @return The JVM-wide scheduler.
+     */
+    public static synchronized TickScheduler shared() {
+        if (sharedScheduler == null) {
+            sharedScheduler = new TickScheduler();
+        }
+        return sharedScheduler;
+    }
+
+    /**
+     * Creates a scheduler without a thread of its own, which only advances
+     * one tick of {@link #DEFAULT_RESOLUTION} milliseconds whenever
+     * {@link #advance()} is called. Tasks run on the calling thread.
+     *
+     * @return A new manual scheduler.
+     */
+    public static TickScheduler manual() {
+        return new TickScheduler(DEFAULT_RESOLUTION, true);
+    }
+
+    /**
+     * Schedules a recurring task. The task will be rescheduled after every
+     * execution with the delay it returns.
+     *
+     * @param task
+     *            The task to schedule.
+     * @param delay
+     *            The delay before the first execution in milliseconds.
+     * @return The handle of the scheduled task, used to cancel it.
+     */
+    public synchronized ScheduledTask schedule(RecurringTask task, long delay) {
+        assert task != null;
+        ScheduledTask scheduled = new ScheduledTask(task);
+        insert(scheduled, delay);
+        pending++;
+        if (service == null && !manual) {
+            service = Executors.newSingleThreadScheduledExecutor(new DaemonThreadFactory());
+            final ScheduledExecutorService owner = service;
+            service.scheduleAtFixedRate(() -> tick(owner), resolution, resolution,
+                TimeUnit.MILLISECONDS);
+        }
+        return scheduled;
+    }
+
+    /**
+     * Places a task in the slot of the tick it is due in.
+     *
+     * @param task
+     *            The task to place.
+     * @param delay
+     *            The delay before the task is due in milliseconds.
+     */
+    private void insert(ScheduledTask task, long delay) {
+        long ticks = Math.max(1L, (delay + resolution - 1) / resolution);
+        task.deadlineTick = currentTick + ticks;
+        task.deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delay);
+        wheel.get(slotOf(task.deadlineTick)).add(task);
+    }
+
+    /**
+     * @param tick
+     *            The tick to find the slot for.
+     * @return The index of the slot in the wheel for the given tick.
+     */
+    private static int slotOf(long tick) {
+        return (int) (tick & (WHEEL_SIZE - 1));
+    }
+
+    /**
+     * Removes a task from the wheel.
+     *
+     * @param task
+     *            The task to remove.
+     */
+    private synchronized void cancel(ScheduledTask task) {
+        if (task.cancelled) {
+            return;
+        }
+        wheel.get(slotOf(task.deadlineTick)).remove(task);
+        release(task);
+    }
+
+    /**
+     * Marks a task as finished and stops the thread once nothing is left to
+     * run.
+     *
+     * @param task
+     *            The task that will not run again.
+     */
+    private void release(ScheduledTask task) {
+        assert Thread.holdsLock(this);
+        task.cancelled = true;
+        pending--;
+        if (pending == 0 && service != null) {
+            service.shutdown();
+            service = null;
+        }
+    }
+
+    /**
+     * Advances the wheel by one tick and runs all tasks that became due.
+     *
+     * @param owner
+     *            The service that triggered this tick. Ticks of a service that
+     *            has since been shut down are ignored.
+     */
+    private void tick(ScheduledExecutorService owner) {
+        List<ScheduledTask> due;
+        synchronized (this) {
+            if (owner != service) {
+                return;
+            }
+            due = nextTick();
+        }
+        for (ScheduledTask task : due) {
+            run(task);
+        }
+    }
+
+    /**
+     * Advances a manual scheduler by one tick and runs all tasks that became
+     * due on the calling thread.
+     */
+    public void advance() {
+        assert manual : "Only manual schedulers can be advanced explicitly";
+        List<ScheduledTask> due;
+        synchronized (this) {
+            due = nextTick();
+        }
+        for (ScheduledTask task : due) {
+            run(task);
+        }
+    }
+
+    /**
+     * Moves the wheel to the next tick and takes out the tasks due in it.
+     *
+     * @return The tasks that became due.
+     */
+    private List<ScheduledTask> nextTick() {
+        assert Thread.holdsLock(this);
+        currentTick++;
+        List<ScheduledTask> due = new ArrayList<>();
+        Iterator<ScheduledTask> slot = wheel.get(slotOf(currentTick)).iterator();
+        while (slot.hasNext()) {
+            ScheduledTask task = slot.next();
+            if (task.deadlineTick <= currentTick) {
+                slot.remove();
+                due.add(task);
+            }
+        }
+        return due;
+    }
+
+    /**
+     * Runs a due task, records its lag and reschedules it.
+     *
+     * @param task
+     *            The task to run.
+     */
+    private void run(ScheduledTask task) {
+        synchronized (this) {
+            if (task.cancelled) {
+                return;
+            }
+        }
+        if (manual) {
+            recordLag(0L);
+        } else {
+            recordLag(System.nanoTime() - task.deadline);
+        }
+        long delay = execute(task);
+        synchronized (this) {
+            if (task.cancelled) {
+                return;
+            }
+            if (delay < 0) {
+                release(task);
+                return;
+            }
+            insert(task, delay);
+        }
+    }
+
+    /**
+     * Executes a task. A task that throws is reported to the handler of the
+     * current thread and treated as finished, so that it cannot stop the
+     * other tasks of the same tick or the ticks after it.
+     *
+     * @param task
+     *            The task to execute.
+     * @return The delay the task asked for, or a negative value when the
+     *         task should not run again.
+     */
+    private static long execute(ScheduledTask task) {
+        try {
+            return task.task.execute();
+        } catch (RuntimeException e) {
+            Thread thread = Thread.currentThread();
+            thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+            return -1L;
+        }
+    }
+
+    /**
+     * Adds a single execution to the lag statistics.
+     *
+     * @param lag
+     *            The time between the intended and actual start of the
+     *            execution in nanoseconds.
+     */
+    private synchronized void recordLag(long lag) {
+        long positiveLag = Math.max(0L, lag);
+        executions++;
+        totalLag += positiveLag;
+        maximumLag = Math.max(maximumLag, positiveLag);
+    }
+
+    /**
+     * @return The number of ticks that have passed.
+     */
+    public synchronized long getCurrentTick() {
+        return currentTick;
+    }
+
+    /**
+     * @return <code>true</code> iff this scheduler only advances when
+     *         {@link #advance()} is called.
+     */
+    public boolean isManual() {
+        return manual;
+    }
+
+    /**
+     * @return The duration of a single tick in milliseconds.
+     */
+    public long getResolution() {
+        return resolution;
+    }
+
+    /**
+     * @return The number of task executions so far.
+     */
+    public synchronized long getExecutions() {
+        return executions;
+    }
+
+    /**
+     * @return The average time between the intended and actual start of an
+     *         execution in milliseconds.
+     */
+    public synchronized double getAverageLag() {
+        if (executions == 0) {
+            return 0.0;
+        }
+        return (double) totalLag / executions / TimeUnit.MILLISECONDS.toNanos(1L);
+    }
+
+    /**
+     * @return The largest time between the intended and actual start of an
+     *         execution in milliseconds.
+     */
+    public synchronized long getMaximumLag() {
+        return TimeUnit.NANOSECONDS.toMillis(maximumLag);
+    }
+
+    /**
+     * @return The number of tasks currently scheduled.
+     */
+    public synchronized int getPendingTasks() {
+        return pending;
+    }
+
+    /**
+     * Resets the lag statistics.
+     */
+    public synchronized void resetStatistics() {
+        executions = 0;
+        totalLag = 0;
+        maximumLag = 0;
+    }
+
+    /**
+     * A task that runs repeatedly with a delay it determines itself.
+     */
+    public interface RecurringTask {
+
+        /**
+         * Executes the task.
+         *
+         * @return The delay before the next execution in milliseconds, or a
+         *         negative value if the task should not run again.
+         */
+        long execute();
+    }
+
+    /**
+     * Handle of a task placed on the wheel.
+     */
+    public final class ScheduledTask {
+
+        /**
+         * The task to run.
+         */
+        private final RecurringTask task;
+
+        /**
+         * The tick in which the task is due.
+         */
+        private long deadlineTick;
+
+        /**
+         * The {@link System#nanoTime()} at which the task should ideally run.
+         */
+        private long deadline;
+
+        /**
+         * <code>true</code> iff this task will not run again.
+         */
+        private boolean cancelled;
+
+        /**
+         * Creates a new handle.
+         *
+         * @param task
+         *            The task to run.
+         */
+        ScheduledTask(RecurringTask task) {
+            this.task = task;
+        }
+
+        /**
+         * Cancels this task. An execution that is already running will be
+         * completed, but the task will not run again.
+         */
+        public void cancel() {
+            TickScheduler.this.cancel(this);
+        }
+    }
+
+    /**
+     * Creates daemon threads, so a scheduler never keeps the JVM alive.
+     */
+    private static final class DaemonThreadFactory implements ThreadFactory {
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "jpacman-tick-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,326 @@
+package nl.tudelft.jpacman.npc;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+
+import nl.tudelft.jpacman.board.Board;
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.board.Unit;
+
+/**
+ * The length and first step of the shortest path between every pair of
+ * squares of a board. Since the walls of a board never change, the table is
+ * computed once, after which paths can be followed without searching.
+ * <p>
+ * The table takes three bytes for every pair of squares, so it grows with the
+ * square of the board size; see {@link #estimateFootprint(int)}. Paths are
+ * the same as the ones found by a breadth first search, including the choice
+ * between equally short paths, but they ignore any units on the way.
+ */
+public final class DistanceTable {
+
+    /**
+     * The largest board, in squares, for which a table is recommended.
+     */
+    public static final int DEFAULT_CELL_LIMIT = 1024;
+
+    /**
+     * The distance between squares that are not connected.
+     */
+    public static final int UNREACHABLE = -1;
+
+    /**
+     * The largest board, in squares, whose distances fit in the table.
+     */
+    public static final int MAX_CELLS = Short.MAX_VALUE;
+
+    /**
+     * The number of bytes the table takes per pair of squares.
+     */
+    private static final int BYTES_PER_PAIR = Short.BYTES + Byte.BYTES;
+
+    /**
+     * The number of start squares below which a build is no longer split.
+     */
+    private static final int ROWS_PER_TASK = 16;
+
+    /**
+     * All directions, in the order in which neighbours are explored.
+     */
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    /**
+     * Marks the absence of a first step.
+     */
+    private static final byte NO_STEP = -1;
+
+    /**
+     * The board this table covers.
+     */
+    private final Board board;
+
+    /**
+     * The number of squares on the board.
+     */
+    private final int size;
+
+    /**
+     * The distance from every square to every other square, indexed by
+     * <code>from * size + to</code>.
+     */
+    private final short[] distance;
+
+    /**
+     * The ordinal of the first step from every square towards every other
+     * square, indexed like {@link #distance}.
+     */
+    private final byte[] step;
+
+    /**
+     * The time it took to build the table, in nanoseconds.
+     */
+    private long buildTime;
+
+    private DistanceTable(Board board) {
+        this.board = board;
+        this.size = board.getSize();
+        this.distance = new short[size * size];
+        this.step = new byte[size * size];
+    }
+
+    private DistanceTable(Board board, DistanceTable shared) {
+        this.board = board;
+        this.size = shared.size;
+        this.distance = shared.distance;
+        this.step = shared.step;
+    }
+
+    /**
+     * Computes the table for a board, spreading the work over the common
+     * fork/join pool.
+     *
+     * @param board
+     *            The board to compute the table for.
+     * @param traveller
+     *            A traveller representative for the units using the table,
+     *            only squares accessible to it are used on the way.
+     * @return The table for the board.
+     * @throws IllegalArgumentException
+     *             If the board has more than {@link #MAX_CELLS} squares.
+     */
+    public static DistanceTable compute(Board board, Unit traveller) {
+        if (board.getSize() > MAX_CELLS) {
+            throw new IllegalArgumentException(
+                "Board too large for a distance table: " + board.getSize() + " squares");
+        }
+        long start = System.nanoTime();
+        DistanceTable table = new DistanceTable(board);
+        ForkJoinPool.commonPool().invoke(table.new Rows(0, table.size, traveller));
+        table.buildTime = System.nanoTime() - start;
+        return table;
+    }
+
+    /**
+     * Returns a table for another board with the same walls, which shares
+     * the paths of this table instead of computing them again. The tables
+     * are never changed once computed, so they can be used side by side.
+     *
+     * @param other
+     *            The board to use the paths of this table on.
+     * @param traveller
+     *            A traveller representative for the units using the table.
+     * @return A table for the other board, or <code>null</code> if its size
+     *         or the squares accessible to the traveller differ from this
+     *         board.
+     */
+    public DistanceTable forBoard(Board other, Unit traveller) {
+        if (other.getWidth() != board.getWidth() || other.getHeight() != board.getHeight()) {
+            return null;
+        }
+        for (int index = 0; index < size; index++) {
+            if (other.squareAt(index).isAccessibleTo(traveller)
+                != board.squareAt(index).isAccessibleTo(traveller)) {
+                return null;
+            }
+        }
+        return new DistanceTable(other, this);
+    }
+
+    /**
+     * Estimates the memory a table takes for a board of the given size.
+     *
+     * @param cells
+     *            The number of squares on the board.
+     * @return The size of the table in bytes.
+     */
+    public static long estimateFootprint(int cells) {
+        return (long) cells * cells * BYTES_PER_PAIR;
+    }
+
+    /**
+     * Fills the rows of all squares from one start square, using a breadth
+     * first search from that square.
+     *
+     * @param from
+     *            The index of the start square.
+     * @param traveller
+     *            The unit the paths should be accessible to.
+     * @param queue
+     *            Scratch space for the search, as large as the board.
+     */
+    private void fillRow(int from, Unit traveller, int[] queue) {
+        int row = from * size;
+        Arrays.fill(distance, row, row + size, (short) UNREACHABLE);
+        Arrays.fill(step, row, row + size, NO_STEP);
+        distance[row + from] = 0;
+        queue[0] = from;
+        int head = 0;
+        int tail = 1;
+        while (head < tail) {
+            int current = queue[head++];
+            Square square = board.squareAt(current);
+            for (Direction dir : DIRECTIONS) {
+                Square next = square.getSquareAt(dir);
+                int index = board.indexOf(next);
+                if (distance[row + index] == UNREACHABLE && next.isAccessibleTo(traveller)) {
+                    distance[row + index] = (short) (distance[row + current] + 1);
+                    step[row + index] = firstStep(row, current, from, dir);
+                    queue[tail++] = index;
+                }
+            }
+        }
+    }
+
+    private byte firstStep(int row, int current, int from, Direction dir) {
+        if (current == from) {
+            return (byte) dir.ordinal();
+        }
+        return step[row + current];
+    }
+
+    /**
+     * Returns the number of steps on the shortest path between two squares.
+     *
+     * @param from
+     *            The starting square.
+     * @param to
+     *            The destination.
+     * @return The length of the shortest path, or {@link #UNREACHABLE} if
+     *         there is no such path.
+     */
+    public int distance(Square from, Square to) {
+        return distance[pair(from, to)];
+    }
+
+    /**
+     * Returns the first step on the shortest path between two squares.
+     *
+     * @param from
+     *            The starting square.
+     * @param to
+     *            The destination.
+     * @return The direction of the first step, or <code>null</code> if there
+     *         is no path or both squares are the same.
+     */
+    public Direction nextStep(Square from, Square to) {
+        byte ordinal = step[pair(from, to)];
+        if (ordinal == NO_STEP) {
+            return null;
+        }
+        return DIRECTIONS[ordinal];
+    }
+
+    /**
+     * Returns the shortest path between two squares.
+     *
+     * @param from
+     *            The starting square.
+     * @param to
+     *            The destination.
+     * @return The directions leading from the start to the destination, or
+     *         <code>null</code> if there is no such path.
+     */
+    public List<Direction> shortestPath(Square from, Square to) {
+        int length = distance(from, to);
+        if (length == UNREACHABLE) {
+            return null;
+        }
+        List<Direction> path = new ArrayList<>(length);
+        Square square = from;
+        while (square != to) {
+            Direction dir = nextStep(square, to);
+            path.add(dir);
+            square = square.getSquareAt(dir);
+        }
+        return path;
+    }
+
+    private int pair(Square from, Square to) {
+        assert from.getBoard() == board && to.getBoard() == board;
+        return board.indexOf(from) * size + board.indexOf(to);
+    }
+
+    /**
+     * @return The board this table covers.
+     */
+    public Board getBoard() {
+        return board;
+    }
+
+    /**
+     * @return The memory taken by the table, in bytes.
+     */
+    public long getFootprint() {
+        return estimateFootprint(size);
+    }
+
+    /**
+     * @return The time it took to build the table, in milliseconds.
+     */
+    public long getBuildTime() {
+        return TimeUnit.NANOSECONDS.toMillis(buildTime);
+    }
+
+    @Override
+    public String toString() {
+        return "DistanceTable[" + size + " squares, " + getFootprint() + " bytes, built in "
+            + getBuildTime() + " ms]";
+    }
+
+    /**
+     * Fills the rows of a range of start squares, splitting the range until
+     * it is small enough to fill directly.
+     */
+    private final class Rows extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int first;
+        private final int last;
+        private final transient Unit traveller;
+
+        Rows(int first, int last, Unit traveller) {
+            this.first = first;
+            this.last = last;
+            this.traveller = traveller;
+        }
+
+        @Override
+        protected void compute() {
+            if (last - first <= ROWS_PER_TASK) {
+                int[] queue = new int[size];
+                for (int from = first; from < last; from++) {
+                    fillRow(from, traveller, queue);
+                }
+                return;
+            }
+            int middle = (first + last) >>> 1;
+            invokeAll(new Rows(first, middle, traveller), new Rows(middle, last, traveller));
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package nl.tudelft.jpacman.npc;
+
+import java.util.Arrays;
+
+import nl.tudelft.jpacman.board.Board;
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.board.Unit;
+
+/**
+ * The distance from every square of a board to a single target square. The
+ * distances are computed with one breadth first search outwards from the
+ * target, after which any number of travellers can look up their distance
+ * and their next step towards the target in constant time.
+ * <p>
+ * The field assumes that squares are linked symmetrically, as done by
+ * {@link nl.tudelft.jpacman.board.BoardFactory}, and that all travellers using
+ * it have access to the same squares.
+ */
+public final class FlowField {
+
+    /**
+     * The distance of squares from which the target cannot be reached.
+     */
+    public static final int UNREACHABLE = -1;
+
+    /**
+     * All directions, in the order in which steps are preferred.
+     */
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    /**
+     * The board this field covers.
+     */
+    private final Board board;
+
+    /**
+     * The number of steps from every square to the target, by index.
+     */
+    private final int[] distance;
+
+    /**
+     * The queue of the breadth first search.
+     */
+    private final int[] queue;
+
+    /**
+     * The square this field leads to, or <code>null</code> if it has not been
+     * computed yet.
+     */
+    private Square target;
+
+    /**
+     * Creates a new, empty field for a board.
+     *
+     * @param board
+     *            The board the field covers.
+     */
+    public FlowField(Board board) {
+        this.board = board;
+        this.distance = new int[board.getSize()];
+        this.queue = new int[board.getSize()];
+        Arrays.fill(distance, UNREACHABLE);
+    }
+
+    /**
+     * Computes the distances to a new target.
+     *
+     * @param newTarget
+     *            The square the field should lead to.
+     * @param traveller
+     *            A traveller representative for the units using this field,
+     *            only squares accessible to it are used on the way.
+     */
+    public void compute(Square newTarget, Unit traveller) {
+        assert newTarget.getBoard() == board;
+        Arrays.fill(distance, UNREACHABLE);
+        target = newTarget;
+        int origin = board.indexOf(newTarget);
+        distance[origin] = 0;
+        queue[0] = origin;
+        int head = 0;
+        int tail = 1;
+        while (head < tail) {
+            int current = queue[head++];
+            Square square = board.squareAt(current);
+            if (!square.isAccessibleTo(traveller)) {
+                continue;
+            }
+            for (Direction dir : DIRECTIONS) {
+                int next = board.indexOf(square.getSquareAt(dir));
+                if (distance[next] == UNREACHABLE) {
+                    distance[next] = distance[current] + 1;
+                    queue[tail++] = next;
+                }
+            }
+        }
+    }
+
+    /**
+     * @return The board this field covers.
+     */
+    public Board getBoard() {
+        return board;
+    }
+
+    /**
+     * @return The square this field leads to, or <code>null</code> if the
+     *         field has not been computed yet.
+     */
+    public Square getTarget() {
+        return target;
+    }
+
+    /**
+     * Returns the number of steps from a square to the target.
+     *
+     * @param square
+     *            The square to measure from.
+     * @return The length of the shortest path to the target, or
+     *         {@link #UNREACHABLE} if there is no such path.
+     */
+    public int distanceFrom(Square square) {
+        return distance[board.indexOf(square)];
+    }
+
+    /**
+     * Returns the first step of the shortest path from a square to the
+     * target. If several paths are equally short, the step is the same as the
+     * one {@link nl.tudelft.jpacman.npc.ghost.Navigation#firstStep} would take.
+     *
+     * @param square
+     *            The square to start from.
+     * @param traveller
+     *            The unit that wants to move.
+     * @return The direction of the first step, or <code>null</code> if the
+     *         target cannot be reached or the square is the target itself.
+     */
+    public Direction nextStep(Square square, Unit traveller) {
+        int remaining = distanceFrom(square);
+        if (remaining == UNREACHABLE || remaining == 0) {
+            return null;
+        }
+        for (Direction dir : DIRECTIONS) {
+            Square next = square.getSquareAt(dir);
+            if (distanceFrom(next) == remaining - 1 && next.isAccessibleTo(traveller)) {
+                return dir;
+            }
+        }
+        return null;
+    }
+}
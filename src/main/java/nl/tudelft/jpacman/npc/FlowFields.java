@@ -0,0 +1,72 @@
+package nl.tudelft.jpacman.npc;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.board.Unit;
+
+/**
+ * The flow fields towards the units that NPCs on a level are chasing. A field
+ * is only recomputed once its target has moved, so all NPCs chasing the same
+ * unit between two of its moves share a single search.
+ */
+public class FlowFields {
+
+    /**
+     * The field towards every unit that has been chased so far.
+     */
+    private final Map<Unit, FlowField> fields = new HashMap<>();
+
+    /**
+     * The number of times a field was (re)computed.
+     */
+    private long computations;
+
+    /**
+     * The number of times a field was requested.
+     */
+    private long requests;
+
+    /**
+     * Returns the field leading to the current square of a unit, computing
+     * it if the unit moved since the field was last used.
+     *
+     * Precondition: The target occupies a square on a board.
+     *
+     * @param target
+     *            The unit to chase.
+     * @param traveller
+     *            The unit doing the chasing.
+     * @return The field leading to the target.
+     */
+    public synchronized FlowField towards(Unit target, Unit traveller) {
+        assert target.hasSquare();
+        Square square = target.getSquare();
+        FlowField field = fields.get(target);
+        if (field == null || field.getBoard() != square.getBoard()) {
+            field = new FlowField(square.getBoard());
+            fields.put(target, field);
+        }
+        if (field.getTarget() != square) {
+            field.compute(square, traveller);
+            computations++;
+        }
+        requests++;
+        return field;
+    }
+
+    /**
+     * @return The number of times a field was (re)computed.
+     */
+    public synchronized long getComputations() {
+        return computations;
+    }
+
+    /**
+     * @return The number of times a field was requested.
+     */
+    public synchronized long getRequests() {
+        return requests;
+    }
+}
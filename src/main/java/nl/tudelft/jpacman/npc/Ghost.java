@@ -5,11 +5,9 @@ import nl.tudelft.jpacman.board.Square;
 import nl.tudelft.jpacman.board.Unit;
 import nl.tudelft.jpacman.sprite.Sprite;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Random;
+import java.util.SplittableRandom;
 
 /**
  * A non-player unit.
@@ -17,6 +15,12 @@ import java.util.Random;
  * @author Jeroen Roosen
  */
 public abstract class Ghost extends Unit {
+
+    /**
+     * The directions a ghost may move in, without copying them on every move.
+     */
+    private static final Direction[] DIRECTIONS = Direction.values();
+
     /**
      * The sprite map, one sprite for each direction.
      */
@@ -32,6 +36,23 @@ public abstract class Ghost extends Unit {
      */
     private final int intervalVariation;
 
+    /**
+     * The flow fields towards the units this ghost chases, shared with the
+     * other ghosts on its level.
+     */
+    private FlowFields flowFields;
+
+    /**
+     * The distances between all squares of this ghost's board, or
+     * <code>null</code> if paths have to be searched.
+     */
+    private DistanceTable distanceTable;
+
+    /**
+     * The source of the random choices of this ghost.
+     */
+    private SplittableRandom random;
+
     /**
      * Calculates the next move for this unit and returns the direction to move
      * in.
@@ -64,6 +85,65 @@ public abstract class Ghost extends Unit {
         this.sprites = spriteMap;
         this.intervalVariation = intervalVariation;
         this.moveInterval = moveInterval;
+        this.flowFields = new FlowFields();
+        this.random = new SplittableRandom();
+    }
+
+    /**
+     * Replaces the source of the random choices of this ghost, e.g. by one
+     * split off a seeded generator to make games reproducible. The generator
+     * must not be used by anyone else.
+     *
+     * @param generator
+     *            The generator to draw random choices from.
+     */
+    public void setRandom(SplittableRandom generator) {
+        assert generator != null;
+        this.random = generator;
+    }
+
+    /**
+     * Lets this ghost share its flow fields with other ghosts, typically all
+     * ghosts on the same level.
+     *
+     * @param fields
+     *            The shared flow fields.
+     */
+    public void setFlowFields(FlowFields fields) {
+        assert fields != null;
+        this.flowFields = fields;
+    }
+
+    /**
+     * Returns the field leading to the current square of a unit, which is
+     * shared with the other ghosts chasing that unit.
+     *
+     * @param target
+     *            The unit to chase, which must occupy a square.
+     * @return The field leading to the target.
+     */
+    protected FlowField flowFieldTowards(Unit target) {
+        return flowFields.towards(target, this);
+    }
+
+    /**
+     * Lets this ghost look up paths in a precomputed table instead of
+     * searching them.
+     *
+     * @param table
+     *            The table computed for the board of this ghost, or
+     *            <code>null</code> to search paths.
+     */
+    public void setDistanceTable(DistanceTable table) {
+        this.distanceTable = table;
+    }
+
+    /**
+     * @return The distances between all squares of this ghost's board, or
+     *         <code>null</code> if no table is available.
+     */
+    protected DistanceTable getDistanceTable() {
+        return distanceTable;
     }
 
     @Override
@@ -77,7 +157,10 @@ public abstract class Ghost extends Unit {
      * @return The suggested delay between moves in milliseconds.
      */
     public long getInterval() {
-        return this.moveInterval + new Random().nextInt(this.intervalVariation);
+        if (intervalVariation == 0) {
+            return moveInterval;
+        }
+        return moveInterval + random.nextInt(intervalVariation);
     }
 
     /**
@@ -88,16 +171,17 @@ public abstract class Ghost extends Unit {
      */
     protected Direction randomMove() {
         Square square = getSquare();
-        List<Direction> directions = new ArrayList<>();
-        for (Direction direction : Direction.values()) {
+        Direction chosen = null;
+        int candidates = 0;
+        for (Direction direction : DIRECTIONS) {
             if (square.getSquareAt(direction).isAccessibleTo(this)) {
-                directions.add(direction);
+                // Keeps each of the accessible directions with equal chance.
+                candidates++;
+                if (random.nextInt(candidates) == 0) {
+                    chosen = direction;
+                }
             }
         }
-        if (directions.isEmpty()) {
-            return null;
-        }
-        int i = new Random().nextInt(directions.size());
-        return directions.get(i);
+        return chosen;
     }
 }
@@ -1,11 +1,9 @@
 package nl.tudelft.jpacman.npc.ghost;
 
-import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
 import nl.tudelft.jpacman.board.Direction;
-import nl.tudelft.jpacman.board.Square;
 import nl.tudelft.jpacman.board.Unit;
 import nl.tudelft.jpacman.level.Player;
 import nl.tudelft.jpacman.npc.Ghost;
@@ -89,12 +87,7 @@ public class Blinky extends Ghost {
             return Optional.empty();
         }
         assert nearest.hasSquare();
-        Square target = nearest.getSquare();
 
-        List<Direction> path = Navigation.shortestPath(getSquare(), target, this);
-        if (path != null && !path.isEmpty()) {
-            return Optional.ofNullable(path.get(0));
-        }
-        return Optional.empty();
+        return Optional.ofNullable(flowFieldTowards(nearest).nextStep(getSquare(), this));
     }
 }
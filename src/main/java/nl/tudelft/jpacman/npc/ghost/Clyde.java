@@ -1,14 +1,13 @@
 package nl.tudelft.jpacman.npc.ghost;
 
 import java.util.EnumMap;
-import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
 import nl.tudelft.jpacman.board.Direction;
-import nl.tudelft.jpacman.board.Square;
 import nl.tudelft.jpacman.board.Unit;
 import nl.tudelft.jpacman.level.Player;
+import nl.tudelft.jpacman.npc.FlowField;
 import nl.tudelft.jpacman.npc.Ghost;
 import nl.tudelft.jpacman.sprite.Sprite;
 
@@ -99,16 +98,16 @@ public class Clyde extends Ghost {
             return Optional.empty();
         }
         assert nearest.hasSquare();
-        Square target = nearest.getSquare();
 
-        List<Direction> path = Navigation.shortestPath(getSquare(), target, this);
-        if (path != null && !path.isEmpty()) {
-            Direction direction = path.get(0);
-            if (path.size() <= SHYNESS) {
-                return Optional.ofNullable(OPPOSITES.get(direction));
-            }
-            return Optional.of(direction);
+        FlowField field = flowFieldTowards(nearest);
+        int distance = field.distanceFrom(getSquare());
+        if (distance == FlowField.UNREACHABLE || distance == 0) {
+            return Optional.empty();
+        }
+        Direction direction = field.nextStep(getSquare(), this);
+        if (distance <= SHYNESS) {
+            return Optional.ofNullable(OPPOSITES.get(direction));
         }
-        return Optional.empty();
+        return Optional.ofNullable(direction);
     }
 }
@@ -1,14 +1,12 @@
 package nl.tudelft.jpacman.npc.ghost;
 
-import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 
 import nl.tudelft.jpacman.board.Board;
 import nl.tudelft.jpacman.board.Direction;
 import nl.tudelft.jpacman.board.Square;
 import nl.tudelft.jpacman.board.Unit;
+import nl.tudelft.jpacman.npc.DistanceTable;
 
 /**
  * Navigation provides utility to navigate on {@link Square}s.
@@ -41,40 +39,66 @@ public final class Navigation {
      */
     public static List<Direction> shortestPath(Square from, Square to,
                                                          Unit traveller) {
-        if (from.equals(to)) {
-            return new ArrayList<>();
+        PathSearch search = PathSearch.forCurrentThread();
+        if (!search.search(from, to, traveller)) {
+            return null;
         }
+        return search.path();
+    }
 
-        List<Node> targets = new ArrayList<>();
-        Set<Square> visited = new HashSet<>();
-        targets.add(new Node(null, from, null));
-        while (!targets.isEmpty()) {
-            Node node = targets.remove(0);
-            Square square = node.getSquare();
-            if (square.equals(to)) {
-                return node.getPath();
-            }
-            visited.add(square);
-            addNewTargets(traveller, targets, visited, node, square);
+    /**
+     * Calculates the first step of the shortest path, without building the
+     * path itself. See {@link #shortestPath(Square, Square, Unit)}.
+     *
+     * @param from
+     *            The starting square.
+     * @param to
+     *            The destination.
+     * @param traveller
+     *            The traveller attempting to reach the destination, or
+     *            <code>null</code> to ignore terrain.
+     * @return The direction of the first step on the shortest path, or
+     *         <code>null</code> if no such path could be found or the
+     *         destination is the current square.
+     */
+    public static Direction firstStep(Square from, Square to, Unit traveller) {
+        PathSearch search = PathSearch.forCurrentThread();
+        if (!search.search(from, to, traveller)) {
+            return null;
         }
-        return null;
+        return search.firstDirection();
     }
 
-    private static void addNewTargets(Unit traveller, List<Node> targets,
-                                      Set<Square> visited, Node node, Square square) {
-        for (Direction direction : Direction.values()) {
-            Square target = square.getSquareAt(direction);
-            if (!visited.contains(target)
-                && (traveller == null || target.isAccessibleTo(traveller))) {
-                targets.add(new Node(direction, target, node));
-            }
+    /**
+     * Returns the first step on the shortest path between two squares,
+     * looking it up in a distance table if one is available.
+     *
+     * @param from
+     *            The starting square.
+     * @param to
+     *            The destination.
+     * @param traveller
+     *            The traveller attempting to reach the destination.
+     * @param table
+     *            The distance table computed for the traveller, or
+     *            <code>null</code> to search the path instead.
+     * @return The direction of the first step on the shortest path, or
+     *         <code>null</code> if no such path could be found or the
+     *         destination is the current square.
+     */
+    public static Direction firstStep(Square from, Square to, Unit traveller,
+                                      DistanceTable table) {
+        if (table == null) {
+            return firstStep(from, to, traveller);
         }
+        return table.nextStep(from, to);
     }
 
     /**
-     * Finds the nearest unit of the given type and returns its location. This
-     * method will perform a breadth first search starting from the given
-     * square.
+     * Finds the nearest unit of the given type and returns its location,
+     * regardless of terrain. The candidates are looked up in the board's
+     * registry of units; only if several of them are equally near, a breadth
+     * first search starting from the given square decides between them.
      *
      * @param type
      *            The type of unit to search for.
@@ -85,27 +109,44 @@ public final class Navigation {
      */
     public static Unit findNearest(Class<? extends Unit> type,
                                              Square currentLocation) {
-        List<Square> toDo = new ArrayList<>();
-        Set<Square> visited = new HashSet<>();
-
-        toDo.add(currentLocation);
-
-        while (!toDo.isEmpty()) {
-            Square square = toDo.remove(0);
-            Unit unit = findUnit(type, square);
-            if (unit != null) {
-                assert unit.hasSquare();
-                return unit;
-            }
-            visited.add(square);
-            for (Direction direction : Direction.values()) {
-                Square newTarget = square.getSquareAt(direction);
-                if (!visited.contains(newTarget) && !toDo.contains(newTarget)) {
-                    toDo.add(newTarget);
-                }
+        Board board = currentLocation.getBoard();
+        Unit nearest = null;
+        int shortest = Integer.MAX_VALUE;
+        boolean tie = false;
+        for (Unit unit : board.getUnits(type)) {
+            int distance = wrappedDistance(board, currentLocation, unit.getSquare());
+            if (distance == shortest) {
+                tie = true;
+            } else if (distance < shortest) {
+                nearest = unit;
+                shortest = distance;
+                tie = false;
             }
         }
-        return null;
+        if (tie) {
+            nearest = PathSearch.forCurrentThread().nearest(type, currentLocation);
+        }
+        assert nearest == null || nearest.hasSquare();
+        return nearest;
+    }
+
+    /**
+     * Returns the number of steps between two squares, regardless of
+     * terrain. Boards wrap around at their borders, so the distance along
+     * each axis is the shorter one of going either way.
+     *
+     * @param board
+     *            The board of both squares.
+     * @param from
+     *            The starting square.
+     * @param to
+     *            The destination.
+     * @return The length of the shortest path between both squares.
+     */
+    private static int wrappedDistance(Board board, Square from, Square to) {
+        int dx = Math.abs(from.getX() - to.getX());
+        int dy = Math.abs(from.getY() - to.getY());
+        return Math.min(dx, board.getWidth() - dx) + Math.min(dy, board.getHeight() - dy);
     }
 
     /**
@@ -116,19 +157,28 @@ public final class Navigation {
      * @param board the board to find the unit in.
      * @param <T> the return type, same as the type in clazz.
      *
-     * @return the first unit found of type clazz, or null.
+     * @return the first unit found of type clazz, reading the board row by
+     *         row, or null.
      */
     public static <T extends Unit> T findUnitInBoard(Class<T> clazz, Board board) {
-        for (int y = 0; y < board.getHeight(); y++) {
-            for (int x = 0; x < board.getWidth(); x++) {
-                final T ghost = Navigation.findUnit(clazz, board.squareAt(x, y));
-                if (ghost != null) {
-                    return ghost;
-                }
+        Square first = null;
+        for (T unit : board.getUnits(clazz)) {
+            Square square = unit.getSquare();
+            if (first == null || readsBefore(square, first)) {
+                first = square;
             }
         }
+        if (first == null) {
+            return null;
+        }
+        return findUnit(clazz, first);
+    }
 
-        return null;
+    private static boolean readsBefore(Square square, Square other) {
+        if (square.getY() == other.getY()) {
+            return square.getX() < other.getX();
+        }
+        return square.getY() < other.getY();
     }
 
     /**
@@ -144,9 +194,12 @@ public final class Navigation {
      * @return A unit of type T, iff such a unit occupies this square, or
      *         <code>null</code> of none does.
      */
-    @SuppressWarnings("unchecked")
+    @SuppressWarnings({"unchecked", "PMD.ForLoopCanBeForeach"})
     public static <T extends Unit> T findUnit(Class<T> type, Square square) {
-        for (Unit unit : square.getOccupants()) {
+        // Indexed, so searches do not allocate an iterator per square.
+        List<Unit> occupants = square.getOccupants();
+        for (int i = 0; i < occupants.size(); i++) {
+            Unit unit = occupants.get(i);
             if (type.isInstance(unit)) {
                 assert unit.hasSquare();
                 return (T) unit;
@@ -154,83 +207,4 @@ public final class Navigation {
         }
         return null;
     }
-
-    /**
-     * Helper class to keep track of the path.
-     *
-     * @author Jeroen Roosen
-     */
-    private static final class Node {
-
-        /**
-         * The direction for this node, which is <code>null</code> for the root
-         * node.
-         */
-        private final Direction direction;
-
-        /**
-         * The parent node, which is <code>null</code> for the root node.
-         */
-        private final Node parent;
-
-        /**
-         * The square associated with this node.
-         */
-        private final Square square;
-
-        /**
-         * Creates a new node.
-         *
-         * @param direction
-         *            The direction, which is <code>null</code> for the root
-         *            node.
-         * @param square
-         *            The square.
-         * @param parent
-         *            The parent node, which is <code>null</code> for the root
-         *            node.
-         */
-        Node(Direction direction, Square square, Node parent) {
-            this.direction = direction;
-            this.square = square;
-            this.parent = parent;
-        }
-
-        /**
-         * @return The direction for this node, or <code>null</code> if this
-         *         node is a root node.
-         */
-        private Direction getDirection() {
-            return direction;
-        }
-
-        /**
-         * @return The square for this node.
-         */
-        private Square getSquare() {
-            return square;
-        }
-
-        /**
-         * @return The parent node, or <code>null</code> if this node is a root
-         *         node.
-         */
-        private Node getParent() {
-            return parent;
-        }
-
-        /**
-         * Returns the list of values from the root of the tree to this node.
-         *
-         * @return The list of values from the root of the tree to this node.
-         */
-        private List<Direction> getPath() {
-            if (parent == null) {
-                return new ArrayList<>();
-            }
-            List<Direction> path = parent.getPath();
-            path.add(getDirection());
-            return path;
-        }
-    }
 }
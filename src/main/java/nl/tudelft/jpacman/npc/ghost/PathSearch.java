@@ -0,0 +1,278 @@
+package nl.tudelft.jpacman.npc.ghost;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import nl.tudelft.jpacman.board.Board;
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.board.Unit;
+
+/**
+ * Breadth first search over the numbered squares of a board. The queue and
+ * the parent links are kept in primitive arrays that are reused between
+ * searches, so a search does not allocate once the arrays have grown to the
+ * size of the board.
+ * <p>
+ * Instances are not thread-safe; every thread uses its own instance via
+ * {@link #forCurrentThread()}. The result of a search remains available until
+ * the next search on the same instance.
+ *
+ * @see Navigation
+ */
+public final class PathSearch {
+
+    /**
+     * All directions, in the order in which neighbours are explored.
+     */
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    /**
+     * Marks the absence of a parent.
+     */
+    private static final int NONE = -1;
+
+    /**
+     * The instance of every thread.
+     */
+    private static final ThreadLocal<PathSearch> INSTANCES =
+        ThreadLocal.withInitial(PathSearch::new);
+
+    /**
+     * The squares waiting to be visited, by index.
+     */
+    private int[] queue = new int[0];
+
+    /**
+     * For every reached square, the index of the square it was reached from.
+     */
+    private int[] parent = new int[0];
+
+    /**
+     * For every reached square, the ordinal of the direction it was reached
+     * in.
+     */
+    private byte[] direction = new byte[0];
+
+    /**
+     * For every square, the search in which it was reached. Comparing against
+     * the current search avoids clearing the arrays between searches.
+     */
+    private int[] reached = new int[0];
+
+    /**
+     * The number of the current search.
+     */
+    private int search;
+
+    /**
+     * The index of the start of the last search.
+     */
+    private int source = NONE;
+
+    /**
+     * The index of the square found by the last search, or {@link #NONE}.
+     */
+    private int found = NONE;
+
+    private PathSearch() {
+    }
+
+    /**
+     * @return The search instance of the calling thread.
+     */
+    public static PathSearch forCurrentThread() {
+        return INSTANCES.get();
+    }
+
+    /**
+     * Searches the shortest path between two squares of the same board. This
+     * search ensures the traveller is allowed to occupy the squares on the
+     * way, or finds the shortest path regardless of terrain if no traveller
+     * is specified.
+     *
+     * @param from
+     *            The starting square.
+     * @param to
+     *            The destination.
+     * @param traveller
+     *            The traveller attempting to reach the destination, or
+     *            <code>null</code> to ignore terrain.
+     * @return <code>true</code> iff a path was found.
+     */
+    public boolean search(Square from, Square to, Unit traveller) {
+        Board board = start(from);
+        assert to.getBoard() == board : "Squares must be on the same board";
+        int destination = board.indexOf(to);
+        int head = 0;
+        int tail = enqueue(0, source, NONE, null);
+        while (head < tail) {
+            int current = queue[head++];
+            if (current == destination) {
+                found = current;
+                return true;
+            }
+            Square square = board.squareAt(current);
+            for (Direction dir : DIRECTIONS) {
+                Square next = square.getSquareAt(dir);
+                if (traveller == null || next.isAccessibleTo(traveller)) {
+                    tail = enqueue(tail, board.indexOf(next), current, dir);
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Searches the square nearest to the starting square that is occupied by
+     * a unit of the given type, regardless of terrain.
+     *
+     * @param type
+     *            The type of unit to search for.
+     * @param from
+     *            The starting square.
+     * @param <T>
+     *            The type of unit to search for.
+     * @return The nearest unit of the given type, or <code>null</code> if no
+     *         such unit could be found.
+     */
+    public <T extends Unit> T nearest(Class<T> type, Square from) {
+        Board board = start(from);
+        int head = 0;
+        int tail = enqueue(0, source, NONE, null);
+        while (head < tail) {
+            int current = queue[head++];
+            Square square = board.squareAt(current);
+            T unit = Navigation.findUnit(type, square);
+            if (unit != null) {
+                found = current;
+                return unit;
+            }
+            for (Direction dir : DIRECTIONS) {
+                tail = enqueue(tail, board.indexOf(square.getSquareAt(dir)), current, dir);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Prepares a new search on the board of the given square.
+     *
+     * @param from
+     *            The square the search starts from.
+     * @return The board to search.
+     */
+    private Board start(Square from) {
+        Board board = from.getBoard();
+        source = board.indexOf(from);
+        found = NONE;
+        ensureCapacity(board.getSize());
+        search++;
+        if (search == 0) {
+            Arrays.fill(reached, 0);
+            search = 1;
+        }
+        return board;
+    }
+
+    /**
+     * Grows the arrays so they can hold every square of a board.
+     *
+     * @param size
+     *            The number of squares on the board.
+     */
+    private void ensureCapacity(int size) {
+        if (reached.length < size) {
+            queue = new int[size];
+            parent = new int[size];
+            direction = new byte[size];
+            reached = new int[size];
+            search = 0;
+        }
+    }
+
+    /**
+     * Adds a square to the queue, unless it was reached before.
+     *
+     * @param tail
+     *            The current end of the queue.
+     * @param index
+     *            The square to add.
+     * @param from
+     *            The square it was reached from.
+     * @param dir
+     *            The direction it was reached in.
+     * @return The new end of the queue.
+     */
+    private int enqueue(int tail, int index, int from, Direction dir) {
+        if (reached[index] == search) {
+            return tail;
+        }
+        reached[index] = search;
+        parent[index] = from;
+        if (dir != null) {
+            direction[index] = (byte) dir.ordinal();
+        }
+        queue[tail] = index;
+        return tail + 1;
+    }
+
+    /**
+     * @return <code>true</code> iff the last search found what it was
+     *         looking for.
+     */
+    public boolean isFound() {
+        return found != NONE;
+    }
+
+    /**
+     * Returns the number of steps on the path found by the last search.
+     * Precondition: <code>isFound()</code>.
+     *
+     * @return The length of the path found.
+     */
+    public int pathLength() {
+        assert isFound();
+        int length = 0;
+        for (int i = found; i != source; i = parent[i]) {
+            length++;
+        }
+        return length;
+    }
+
+    /**
+     * Returns the first step on the path found by the last search.
+     * Precondition: <code>isFound()</code>.
+     *
+     * @return The direction of the first step, or <code>null</code> if the
+     *         path is empty.
+     */
+    public Direction firstDirection() {
+        assert isFound();
+        if (found == source) {
+            return null;
+        }
+        int step = found;
+        while (parent[step] != source) {
+            step = parent[step];
+        }
+        return DIRECTIONS[direction[step]];
+    }
+
+    /**
+     * Returns the path found by the last search.
+     * Precondition: <code>isFound()</code>.
+     *
+     * @return The directions leading from the start to the square found.
+     */
+    public List<Direction> path() {
+        Direction[] steps = new Direction[pathLength()];
+        int step = found;
+        for (int i = steps.length - 1; i >= 0; i--) {
+            steps[i] = DIRECTIONS[direction[step]];
+            step = parent[step];
+        }
+        return new ArrayList<>(Arrays.asList(steps));
+    }
+}
@@ -1,6 +1,5 @@
 package nl.tudelft.jpacman.npc.ghost;
 
-import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
@@ -98,10 +97,7 @@ public class Pinky extends Ghost {
         assert player.hasSquare();
         Square destination = player.squaresAheadOf(SQUARES_AHEAD);
 
-        List<Direction> path = Navigation.shortestPath(getSquare(), destination, this);
-        if (path != null && !path.isEmpty()) {
-            return Optional.ofNullable(path.get(0));
-        }
-        return Optional.empty();
+        return Optional.ofNullable(Navigation.firstStep(getSquare(), destination, this,
+            getDistanceTable()));
     }
 }
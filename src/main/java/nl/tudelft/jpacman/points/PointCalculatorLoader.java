@@ -11,26 +11,42 @@ import java.util.Properties;
  */
 public class PointCalculatorLoader {
 
-    private static Class clazz = null;
+    private static Class<?> clazz = null;
 
     /**
-     * Load a points calculator and return it.
+     * Load a points calculator and return it. The class of the calculator is
+     * only looked up once, even if several games are created concurrently.
      *
      * @return The (dynamically loaded) points calculator.
      */
     public PointCalculator load() {
         try {
+            return (PointCalculator) calculatorClass().newInstance();
+        } catch (Exception e) {
+            throw new RuntimeException("Could not dynamically load the points calculator.", e);
+        }
+    }
+
+    /**
+     * Looks up the class of the calculator the first time it is needed, while
+     * holding a lock so that concurrent games look it up only once.
+     *
+     * @return The class of the points calculator.
+     * @throws IOException
+     *             When the configuration could not be read.
+     * @throws ClassNotFoundException
+     *             When the configured class does not exist.
+     */
+    private Class<?> calculatorClass() throws IOException, ClassNotFoundException {
+        synchronized (PointCalculatorLoader.class) {
             if (clazz == null) {
                 clazz = loadClassFromFile();
             }
-
-            return (PointCalculator) clazz.newInstance();
-        } catch (Exception e) {
-            throw new RuntimeException("Could not dynamically load the points calculator.", e);
+            return clazz;
         }
     }
 
-    private Class loadClassFromFile() throws IOException, ClassNotFoundException {
+    private Class<?> loadClassFromFile() throws IOException, ClassNotFoundException {
         String strategyToLoad = getCalculatorClassName();
 
         if ("DefaultPointCalculator".equals(strategyToLoad)) {
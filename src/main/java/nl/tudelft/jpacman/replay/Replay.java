@@ -0,0 +1,255 @@
+package nl.tudelft.jpacman.replay;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.google.common.io.ByteStreams;
+
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.board.Unit;
+import nl.tudelft.jpacman.level.Level;
+
+/**
+ * A game recorded by a {@link ReplayRecorder}, which can be played back on a
+ * fresh level created from the same map. Playback makes all recorded moves
+ * one after the other without waiting for the clock, so it takes a fraction
+ * of the time the game took.
+ */
+public final class Replay {
+
+    /**
+     * The bytes every log starts with.
+     */
+    static final byte[] MAGIC = {'J', 'P', 'R', '1'};
+
+    /**
+     * The number of bits of a number in every byte of a variable-length
+     * integer.
+     */
+    static final int VARINT_BITS = 7;
+
+    /**
+     * The bits of a variable-length integer byte that hold the number.
+     */
+    static final int VARINT_PAYLOAD = 0x7F;
+
+    /**
+     * The bit of a variable-length integer byte that is set if more bytes
+     * follow.
+     */
+    static final int VARINT_MORE = 0x80;
+
+    /**
+     * The number of bits of a move code that hold the direction.
+     */
+    static final int DIRECTION_BITS = 2;
+
+    /**
+     * The directions, by their code.
+     */
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    /**
+     * The encoded log.
+     */
+    private final byte[] log;
+
+    /**
+     * The number of units on the recorded level.
+     */
+    private final int unitCount;
+
+    /**
+     * The position in the log of the first move.
+     */
+    private final int firstMove;
+
+    /**
+     * The number of moves in the log.
+     */
+    private final int moveCount;
+
+    /**
+     * The number of ticks between the start of the recording and the last
+     * move.
+     */
+    private final long duration;
+
+    /**
+     * Creates a replay from a log that has been checked to be well-formed.
+     * The log is not copied, since only {@link #read(InputStream)} creates
+     * replays, of logs it has just read itself.
+     */
+    @SuppressWarnings("PMD.ArrayIsStoredDirectly")
+    private Replay(byte[] log, int unitCount, int firstMove, int moveCount, long duration) {
+        this.log = log;
+        this.unitCount = unitCount;
+        this.firstMove = firstMove;
+        this.moveCount = moveCount;
+        this.duration = duration;
+    }
+
+    /**
+     * Reads a log written by a {@link ReplayRecorder}.
+     *
+     * @param in
+     *            The stream to read the whole log from.
+     * @return The recorded game.
+     * @throws IOException
+     *             When the log could not be read or is malformed.
+     */
+    public static Replay read(InputStream in) throws IOException {
+        byte[] log = ByteStreams.toByteArray(in);
+        Reader reader = new Reader(log);
+        for (byte b : MAGIC) {
+            if (reader.atEnd() || log[reader.position] != b) {
+                throw new IOException("Not a replay log.");
+            }
+            reader.position++;
+        }
+        try {
+            return read(log, reader);
+        } catch (IllegalStateException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Checks the moves of a log and counts them.
+     *
+     * @param log
+     *            The log to read.
+     * @param reader
+     *            A reader positioned just after the magic bytes.
+     * @return The recorded game.
+     * @throws IOException
+     *             When a move is of an unknown unit.
+     */
+    private static Replay read(byte[] log, Reader reader) throws IOException {
+        int unitCount = (int) reader.next();
+        int firstMove = reader.position;
+        int moveCount = 0;
+        long duration = 0L;
+        while (!reader.atEnd()) {
+            duration += reader.next();
+            if (reader.next() >>> DIRECTION_BITS >= unitCount) {
+                throw new IOException("Move of an unknown unit in move " + moveCount + ".");
+            }
+            moveCount++;
+        }
+        return new Replay(log, unitCount, firstMove, moveCount, duration);
+    }
+
+    /**
+     * @return The number of units on the recorded level.
+     */
+    public int getUnitCount() {
+        return unitCount;
+    }
+
+    /**
+     * @return The number of moves in the log.
+     */
+    public int getMoveCount() {
+        return moveCount;
+    }
+
+    /**
+     * @return The number of ticks between the start of the recording and the
+     *         last move.
+     */
+    public long getDuration() {
+        return duration;
+    }
+
+    /**
+     * Makes all recorded moves on a level, after which the level is stopped.
+     * <p>
+     * The level must have been created from the same map as the recorded
+     * level, with the same players registered, and it must be driven by a
+     * manual scheduler so that its ghosts only make the recorded moves.
+     *
+     * @param level
+     *            The level to play the moves on, which is not yet started.
+     */
+    public void playOn(Level level) {
+        assert level.getScheduler().isManual();
+        assert !level.isInProgress();
+        List<Unit> units = new ArrayList<>(level.getPlayers());
+        units.addAll(level.getGhosts());
+        if (units.size() != unitCount) {
+            throw new IllegalArgumentException("Recorded " + unitCount + " units, but the "
+                + "level has " + units.size() + ".");
+        }
+        level.start();
+        Reader reader = new Reader(log);
+        reader.position = firstMove;
+        while (!reader.atEnd()) {
+            reader.next();
+            int code = (int) reader.next();
+            level.move(units.get(code >>> DIRECTION_BITS),
+                DIRECTIONS[code & ((1 << DIRECTION_BITS) - 1)]);
+        }
+        level.stop();
+    }
+
+    /**
+     * Decodes the variable-length integers of a log.
+     */
+    private static final class Reader {
+
+        /**
+         * The log being read.
+         */
+        private final byte[] log;
+
+        /**
+         * The position of the next byte to read.
+         */
+        private int position;
+
+        /**
+         * Creates a reader at the start of a log. The log is not copied, as
+         * the reader only reads it and never outlives the replay owning it.
+         *
+         * @param log
+         *            The log to read.
+         */
+        @SuppressWarnings("PMD.ArrayIsStoredDirectly")
+        Reader(byte[] log) {
+            this.log = log;
+        }
+
+        /**
+         * @return <code>true</code> iff all bytes have been read.
+         */
+        boolean atEnd() {
+            return position >= log.length;
+        }
+
+        /**
+         * Reads the next variable-length integer.
+         *
+         * @return The decoded number.
+         * @throws IllegalStateException
+         *             When the log ends in the middle of the number.
+         */
+        long next() {
+            long value = 0L;
+            int shift = 0;
+            byte b;
+            do {
+                if (atEnd() || shift >= Long.SIZE) {
+                    throw new IllegalStateException("Truncated replay log.");
+                }
+                b = log[position];
+                position++;
+                value |= (long) (b & VARINT_PAYLOAD) << shift;
+                shift += VARINT_BITS;
+            } while ((b & VARINT_MORE) != 0);
+            return value;
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package nl.tudelft.jpacman.replay;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.board.Unit;
+import nl.tudelft.jpacman.level.Level;
+import nl.tudelft.jpacman.level.Level.MoveObserver;
+import nl.tudelft.jpacman.level.Player;
+import nl.tudelft.jpacman.npc.Ghost;
+
+/**
+ * Records every move made on a level, by players and ghosts alike, into a
+ * compact binary log that can be played back by {@link Replay}.
+ * <p>
+ * The log starts with a header holding the number of units on the level.
+ * Every move then takes two variable-length integers: the number of ticks
+ * since the previous move and a code combining the index of the unit with
+ * its direction in the lowest two bits. Units are numbered in the order of
+ * {@link Level#getPlayers()} followed by {@link Level#getGhosts()}, so a
+ * move on a level with fewer than 32 units takes two bytes when ticks are
+ * close together.
+ */
+public class ReplayRecorder implements MoveObserver {
+
+    /**
+     * The initial capacity of the log, in bytes.
+     */
+    private static final int INITIAL_CAPACITY = 256;
+
+    /**
+     * The level being recorded.
+     */
+    private final Level level;
+
+    /**
+     * The number of every unit on the level.
+     */
+    private final Map<Unit, Integer> units;
+
+    /**
+     * The encoded log, of which the first {@link #length} bytes are used.
+     */
+    private byte[] log;
+
+    /**
+     * The number of bytes used in the log.
+     */
+    private int length;
+
+    /**
+     * The number of moves recorded.
+     */
+    private int moves;
+
+    /**
+     * The tick of the previous move.
+     */
+    private long lastTick;
+
+    /**
+     * Creates a recorder for the current players and ghosts of a level. The
+     * recorder only records once it has been added as a move observer, see
+     * {@link #attach(Level)}.
+     *
+     * @param level
+     *            The level to record, with all its players registered.
+     */
+    public ReplayRecorder(Level level) {
+        assert level != null;
+        this.level = level;
+        this.units = new IdentityHashMap<>();
+        for (Player player : level.getPlayers()) {
+            units.put(player, units.size());
+        }
+        for (Ghost ghost : level.getGhosts()) {
+            units.put(ghost, units.size());
+        }
+        this.log = new byte[INITIAL_CAPACITY];
+        for (byte b : Replay.MAGIC) {
+            append(b);
+        }
+        appendVarint(units.size());
+        this.lastTick = level.getScheduler().getCurrentTick();
+    }
+
+    /**
+     * Starts recording all moves on a level.
+     *
+     * @param level
+     *            The level to record, with all its players registered.
+     * @return The recorder, which has been added as a move observer.
+     */
+    public static ReplayRecorder attach(Level level) {
+        ReplayRecorder recorder = new ReplayRecorder(level);
+        level.addMoveObserver(recorder);
+        return recorder;
+    }
+
+    @Override
+    public synchronized void unitMoved(Unit unit, Direction direction) {
+        Integer index = units.get(unit);
+        if (index == null) {
+            throw new IllegalStateException("Unit " + unit + " joined the level after "
+                + "recording started.");
+        }
+        long tick = level.getScheduler().getCurrentTick();
+        appendVarint(tick - lastTick);
+        appendVarint(((long) index << Replay.DIRECTION_BITS) | direction.ordinal());
+        lastTick = tick;
+        moves++;
+    }
+
+    /**
+     * @return The number of moves recorded so far.
+     */
+    public synchronized int getMoveCount() {
+        return moves;
+    }
+
+    /**
+     * @return The log recorded so far.
+     */
+    public synchronized byte[] toByteArray() {
+        return Arrays.copyOf(log, length);
+    }
+
+    /**
+     * Writes the log recorded so far.
+     *
+     * @param out
+     *            The stream to write the log to.
+     * @throws IOException
+     *             When the log could not be written.
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        out.write(toByteArray());
+    }
+
+    /**
+     * Appends a non-negative number to the log, seven bits per byte with the
+     * highest bit set on all but the last byte.
+     *
+     * @param value
+     *            The number to append.
+     */
+    private void appendVarint(long value) {
+        assert value >= 0;
+        long remaining = value;
+        while ((remaining & ~Replay.VARINT_PAYLOAD) != 0) {
+            append((byte) ((remaining & Replay.VARINT_PAYLOAD) | Replay.VARINT_MORE));
+            remaining >>>= Replay.VARINT_BITS;
+        }
+        append((byte) remaining);
+    }
+
+    /**
+     * Appends a byte to the log, growing it if needed.
+     *
+     * @param b
+     *            The byte to append.
+     */
+    private void append(byte b) {
+        if (length == log.length) {
+            log = Arrays.copyOf(log, log.length * 2);
+        }
+        log[length] = b;
+        length++;
+    }
+}
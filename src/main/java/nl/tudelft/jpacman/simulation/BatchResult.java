@@ -0,0 +1,114 @@
+package nl.tudelft.jpacman.simulation;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * The outcomes of a batch of simulated games, with aggregates over all of
+ * them.
+ */
+public final class BatchResult {
+
+    /**
+     * The result of every game, in the order in which the games were numbered.
+     */
+    private final List<GameResult> games;
+
+    /**
+     * The time it took to play the batch, in nanoseconds.
+     */
+    private final long duration;
+
+    /**
+     * Creates a new batch result.
+     *
+     * @param games
+     *            The result of every game.
+     * @param duration
+     *            The time it took to play the batch, in nanoseconds.
+     */
+    public BatchResult(List<GameResult> games, long duration) {
+        this.games = ImmutableList.copyOf(games);
+        this.duration = duration;
+    }
+
+    /**
+     * @return The result of every game, in the order in which the games were
+     *         numbered.
+     */
+    public List<GameResult> getGames() {
+        return games;
+    }
+
+    /**
+     * @return The number of games won.
+     */
+    public int getWins() {
+        int wins = 0;
+        for (GameResult game : games) {
+            if (game.isWon()) {
+                wins++;
+            }
+        }
+        return wins;
+    }
+
+    /**
+     * @return The number of games lost or not finished.
+     */
+    public int getLosses() {
+        return games.size() - getWins();
+    }
+
+    /**
+     * @return The average final score, or zero for an empty batch.
+     */
+    public double getAverageScore() {
+        if (games.isEmpty()) {
+            return 0.0;
+        }
+        long total = 0;
+        for (GameResult game : games) {
+            total += game.getScore();
+        }
+        return (double) total / games.size();
+    }
+
+    /**
+     * @return The total number of ticks simulated.
+     */
+    public long getTotalTicks() {
+        long total = 0;
+        for (GameResult game : games) {
+            total += game.getTicks();
+        }
+        return total;
+    }
+
+    /**
+     * @return The time it took to play the batch, in milliseconds.
+     */
+    public long getDuration() {
+        return TimeUnit.NANOSECONDS.toMillis(duration);
+    }
+
+    /**
+     * @return The number of games played per second of wall time.
+     */
+    public double getGamesPerSecond() {
+        if (duration == 0) {
+            return 0.0;
+        }
+        return games.size() * (double) TimeUnit.SECONDS.toNanos(1L) / duration;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d games: %d won, %d lost, average score %.1f, "
+                + "%d ticks in %d ms (%.1f games/s)",
+            games.size(), getWins(), getLosses(), getAverageScore(), getTotalTicks(),
+            getDuration(), getGamesPerSecond());
+    }
+}
@@ -0,0 +1,125 @@
+package nl.tudelft.jpacman.simulation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+
+import nl.tudelft.jpacman.game.Game;
+
+/**
+ * Plays many independent simulations concurrently, spreading them over the
+ * cores of the machine.
+ * <p>
+ * Every game is created by the game factory on the thread that plays it and
+ * is never shared, so games only interact through state that is safe to
+ * share: the sprite store, the point calculator class and the per-thread
+ * path searches.
+ */
+public class BatchRunner {
+
+    /**
+     * Creates the game with the given number.
+     */
+    private final IntFunction<Simulation> gameFactory;
+
+    /**
+     * The number of games played at the same time.
+     */
+    private final int parallelism;
+
+    /**
+     * Creates a runner that uses all available processors.
+     *
+     * @param gameFactory
+     *            Creates the game with the given number, e.g. using
+     *            {@link Simulation#of}.
+     */
+    public BatchRunner(IntFunction<Simulation> gameFactory) {
+        this(gameFactory, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a runner.
+     *
+     * @param gameFactory
+     *            Creates the game with the given number, e.g. using
+     *            {@link Simulation#of}.
+     * @param parallelism
+     *            The number of games played at the same time.
+     */
+    public BatchRunner(IntFunction<Simulation> gameFactory, int parallelism) {
+        assert gameFactory != null;
+        assert parallelism > 0;
+        this.gameFactory = gameFactory;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Creates a runner of games built elsewhere, e.g. by a
+     * {@link nl.tudelft.jpacman.Launcher} of its own for every game, with a
+     * {@link nl.tudelft.jpacman.level.TickScheduler#manual()} scheduler. The
+     * games are played as described at {@link Simulation#of(Game, PlayerController)}.
+     *
+     * @param gameFactory
+     *            Creates the game with the given number.
+     * @param controller
+     *            The controller deciding on the moves of the player of every
+     *            game, which must be safe to use from several threads.
+     * @return A runner that uses all available processors.
+     */
+    public static BatchRunner ofGames(IntFunction<? extends Game> gameFactory,
+                                      PlayerController controller) {
+        assert gameFactory != null;
+        return new BatchRunner(number -> Simulation.of(gameFactory.apply(number), controller));
+    }
+
+    /**
+     * Plays a batch of games and waits for all of them to finish.
+     *
+     * @param games
+     *            The number of games to play, numbered from zero.
+     * @param maximumTicks
+     *            The largest number of ticks a single game may last.
+     * @return The results of all games.
+     * @throws InterruptedException
+     *             When interrupted while waiting for the games.
+     */
+    public BatchResult run(int games, long maximumTicks) throws InterruptedException {
+        long start = System.nanoTime();
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            List<Future<GameResult>> futures = new ArrayList<>(games);
+            for (int i = 0; i < games; i++) {
+                final int number = i;
+                futures.add(pool.submit(() -> play(number, maximumTicks)));
+            }
+            List<GameResult> results = new ArrayList<>(games);
+            for (Future<GameResult> future : futures) {
+                results.add(future.get());
+            }
+            return new BatchResult(results, System.nanoTime() - start);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("A simulated game failed.", e);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Creates and plays a single game.
+     *
+     * @param number
+     *            The number of the game.
+     * @param maximumTicks
+     *            The largest number of ticks the game may last.
+     * @return The result of the game.
+     */
+    private GameResult play(int number, long maximumTicks) {
+        Simulation simulation = gameFactory.apply(number);
+        simulation.run(maximumTicks);
+        return GameResult.of(simulation);
+    }
+}
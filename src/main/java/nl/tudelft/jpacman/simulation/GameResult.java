@@ -0,0 +1,72 @@
+package nl.tudelft.jpacman.simulation;
+
+/**
+ * The outcome of a single simulated game.
+ */
+public final class GameResult {
+
+    /**
+     * The score of the player at the end of the game.
+     */
+    private final int score;
+
+    /**
+     * The number of ticks the game lasted.
+     */
+    private final long ticks;
+
+    /**
+     * Whether the player ate all pellets.
+     */
+    private final boolean won;
+
+    /**
+     * Creates a new result.
+     *
+     * @param score
+     *            The score of the player at the end of the game.
+     * @param ticks
+     *            The number of ticks the game lasted.
+     * @param won
+     *            Whether the player ate all pellets.
+     */
+    public GameResult(int score, long ticks, boolean won) {
+        this.score = score;
+        this.ticks = ticks;
+        this.won = won;
+    }
+
+    /**
+     * Takes the result of a simulation that has been run.
+     *
+     * @param simulation
+     *            The simulation to take the result of.
+     * @return The result of the simulation so far.
+     */
+    public static GameResult of(Simulation simulation) {
+        boolean won = simulation.getPlayer().isAlive()
+            && simulation.getLevel().remainingPellets() == 0;
+        return new GameResult(simulation.getPlayer().getScore(), simulation.getTicks(), won);
+    }
+
+    /**
+     * @return The score of the player at the end of the game.
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * @return The number of ticks the game lasted.
+     */
+    public long getTicks() {
+        return ticks;
+    }
+
+    /**
+     * @return <code>true</code> iff the player ate all pellets.
+     */
+    public boolean isWon() {
+        return won;
+    }
+}
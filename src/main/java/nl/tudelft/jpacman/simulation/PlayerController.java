@@ -0,0 +1,25 @@
+package nl.tudelft.jpacman.simulation;
+
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.level.Level;
+import nl.tudelft.jpacman.level.Player;
+
+/**
+ * Decides how the player moves in a {@link Simulation}, taking the place of
+ * the keyboard.
+ */
+@FunctionalInterface
+public interface PlayerController {
+
+    /**
+     * Decides the next move of the player.
+     *
+     * @param level
+     *            The level being played.
+     * @param player
+     *            The player to move.
+     * @return The direction to move the player in, or <code>null</code> to
+     *         let the player stand still.
+     */
+    Direction nextMove(Level level, Player player);
+}
@@ -0,0 +1,283 @@
+package nl.tudelft.jpacman.simulation;
+
+import java.util.List;
+
+import nl.tudelft.jpacman.board.BoardFactory;
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.game.Game;
+import nl.tudelft.jpacman.level.Level;
+import nl.tudelft.jpacman.level.LevelFactory;
+import nl.tudelft.jpacman.level.LevelTemplate;
+import nl.tudelft.jpacman.level.MapParser;
+import nl.tudelft.jpacman.level.Player;
+import nl.tudelft.jpacman.level.PlayerFactory;
+import nl.tudelft.jpacman.level.TickScheduler;
+import nl.tudelft.jpacman.npc.ghost.GhostFactory;
+import nl.tudelft.jpacman.points.DefaultPointCalculator;
+import nl.tudelft.jpacman.sprite.HeadlessSprites;
+import nl.tudelft.jpacman.sprite.PacManSprites;
+
+/**
+ * Plays a level without a user interface and without waiting for the clock.
+ * Time advances in ticks of {@link TickScheduler#DEFAULT_RESOLUTION}
+ * milliseconds: every tick, the NPCs that are due move, exactly as they
+ * would in real time, and every few ticks a {@link PlayerController} moves
+ * the player. A simulation runs as fast as the level can be updated, which
+ * is many times faster than the game is played.
+ * <p>
+ * The level must be driven by a {@link TickScheduler#manual()} scheduler,
+ * and it must not be started or stopped by anyone else.
+ */
+public class Simulation {
+
+    /**
+     * The default time between two moves of the player, in milliseconds.
+     */
+    public static final long DEFAULT_PLAYER_INTERVAL = 200L;
+
+    /**
+     * The level being played.
+     */
+    private final Level level;
+
+    /**
+     * The player moved by the controller.
+     */
+    private final Player player;
+
+    /**
+     * The controller deciding on the moves of the player.
+     */
+    private final PlayerController controller;
+
+    /**
+     * The scheduler driving the NPCs of the level.
+     */
+    private final TickScheduler scheduler;
+
+    /**
+     * The number of ticks between two moves of the player.
+     */
+    private final long playerTicks;
+
+    /**
+     * The number of ticks simulated so far.
+     */
+    private long ticks;
+
+    /**
+     * Creates a new simulation of a level.
+     *
+     * @param level
+     *            The level to play, driven by a manual scheduler.
+     * @param player
+     *            The player on the level, which is moved by the controller.
+     * @param controller
+     *            The controller deciding on the moves of the player.
+     * @param playerInterval
+     *            The time between two moves of the player, in milliseconds.
+     */
+    public Simulation(Level level, Player player, PlayerController controller,
+                      long playerInterval) {
+        assert level != null;
+        assert player != null;
+        assert controller != null;
+        this.level = level;
+        this.player = player;
+        this.controller = controller;
+        this.scheduler = level.getScheduler();
+        this.playerTicks = Math.max(1L, playerInterval / scheduler.getResolution());
+    }
+
+    /**
+     * Creates a simulation of a game built elsewhere, e.g. by
+     * {@link nl.tudelft.jpacman.Launcher#makeGame()}. The level of the game
+     * must be driven by a {@link TickScheduler#manual()} scheduler, see
+     * {@link nl.tudelft.jpacman.Launcher#withScheduler(TickScheduler)}, and
+     * the game itself is not started: the simulation plays its level.
+     *
+     * @param game
+     *            The game to play.
+     * @param controller
+     *            The controller deciding on the moves of its first player.
+     * @return A simulation of the level of the game.
+     */
+    public static Simulation of(Game game, PlayerController controller) {
+        Level level = game.getLevel();
+        assert level.getScheduler().isManual() : "Simulated levels need a manual scheduler";
+        return new Simulation(level, game.getPlayers().get(0), controller,
+            DEFAULT_PLAYER_INTERVAL);
+    }
+
+    /**
+     * Creates a simulation of a map, on a level that loads no images and is
+     * driven by a manual scheduler.
+     *
+     * @param map
+     *            The rows of the map, as read by {@link MapParser}.
+     * @param controller
+     *            The controller deciding on the moves of the player.
+     * @return A simulation of the map with a single player.
+     */
+    public static Simulation of(List<String> map, PlayerController controller) {
+        return of(LevelTemplate.of(map), controller);
+    }
+
+    /**
+     * Creates a simulation of a map that has been read before, on a level
+     * that loads no images and is driven by a manual scheduler. Batches of
+     * simulations of one template read the map only once.
+     *
+     * @param template
+     *            The map to simulate.
+     * @param controller
+     *            The controller deciding on the moves of the player.
+     * @return A simulation of the map with a single player.
+     */
+    public static Simulation of(LevelTemplate template, PlayerController controller) {
+        PacManSprites sprites = new HeadlessSprites();
+        return of(template, controller, sprites, levelFactory(sprites));
+    }
+
+    /**
+     * Creates a reproducible simulation of a map: the ghosts make the same
+     * random choices in every simulation created with the same seed, so a
+     * deterministic controller makes them play out identically.
+     *
+     * @param map
+     *            The rows of the map, as read by {@link MapParser}.
+     * @param controller
+     *            The controller deciding on the moves of the player.
+     * @param seed
+     *            The seed of the random choices of the ghosts.
+     * @return A simulation of the map with a single player.
+     */
+    public static Simulation of(List<String> map, PlayerController controller, long seed) {
+        return of(LevelTemplate.of(map), controller, seed);
+    }
+
+    /**
+     * Creates a reproducible simulation of a map that has been read before,
+     * see {@link #of(List, PlayerController, long)}.
+     *
+     * @param template
+     *            The map to simulate.
+     * @param controller
+     *            The controller deciding on the moves of the player.
+     * @param seed
+     *            The seed of the random choices of the ghosts.
+     * @return A simulation of the map with a single player.
+     */
+    public static Simulation of(LevelTemplate template, PlayerController controller,
+                                long seed) {
+        PacManSprites sprites = new HeadlessSprites();
+        LevelFactory levelFactory = levelFactory(sprites);
+        levelFactory.setSeed(seed);
+        return of(template, controller, sprites, levelFactory);
+    }
+
+    /**
+     * Creates a factory for levels driven by a manual scheduler.
+     *
+     * @param sprites
+     *            The sprites of the units.
+     * @return A new level factory.
+     */
+    private static LevelFactory levelFactory(PacManSprites sprites) {
+        LevelFactory levelFactory = new LevelFactory(sprites, new GhostFactory(sprites),
+            new DefaultPointCalculator());
+        levelFactory.setScheduler(TickScheduler.manual());
+        return levelFactory;
+    }
+
+    /**
+     * Creates a simulation of a map with a single player.
+     *
+     * @param template
+     *            The map to simulate.
+     * @param controller
+     *            The controller deciding on the moves of the player.
+     * @param sprites
+     *            The sprites of the board and the player.
+     * @param levelFactory
+     *            The factory creating the level, with a manual scheduler.
+     * @return A simulation of the map.
+     */
+    private static Simulation of(LevelTemplate template, PlayerController controller,
+                                 PacManSprites sprites, LevelFactory levelFactory) {
+        Level level = new MapParser(levelFactory, new BoardFactory(sprites)).parseMap(template);
+        Player player = new PlayerFactory(sprites).createPacMan();
+        level.registerPlayer(player);
+        return new Simulation(level, player, controller, DEFAULT_PLAYER_INTERVAL);
+    }
+
+    /**
+     * Advances the level by a single tick.
+     */
+    public void step() {
+        if (!level.isInProgress()) {
+            level.start();
+        }
+        ticks++;
+        scheduler.advance();
+        if (ticks % playerTicks == 0 && player.isAlive()) {
+            Direction direction = controller.nextMove(level, player);
+            if (direction != null) {
+                level.move(player, direction);
+            }
+        }
+    }
+
+    /**
+     * Plays until the game is over or the given number of ticks have passed,
+     * after which the level is stopped.
+     *
+     * @param maximumTicks
+     *            The largest number of ticks to simulate.
+     * @return The number of ticks simulated by this call.
+     */
+    public long run(long maximumTicks) {
+        long start = ticks;
+        while (ticks - start < maximumTicks && !isFinished()) {
+            step();
+        }
+        level.stop();
+        return ticks - start;
+    }
+
+    /**
+     * @return <code>true</code> iff the player has died or all pellets have
+     *         been eaten.
+     */
+    public boolean isFinished() {
+        return !level.isAnyPlayerAlive() || level.remainingPellets() == 0;
+    }
+
+    /**
+     * @return The number of ticks simulated so far.
+     */
+    public long getTicks() {
+        return ticks;
+    }
+
+    /**
+     * @return The game time simulated so far, in milliseconds.
+     */
+    public long getElapsedTime() {
+        return ticks * scheduler.getResolution();
+    }
+
+    /**
+     * @return The level being played.
+     */
+    public Level getLevel() {
+        return level;
+    }
+
+    /**
+     * @return The player moved by the controller.
+     */
+    public Player getPlayer() {
+        return player;
+    }
+}
@@ -3,8 +3,8 @@ package nl.tudelft.jpacman.sprite;
 import java.awt.Graphics;
 
 /**
- * Animated sprite, renders the frame depending on the time of requesting the
- * draw.
+ * Animated sprite, renders the frame depending on the time of its
+ * {@link FrameClock} when the draw is requested.
  *
  * @author Jeroen Roosen 
  */
@@ -41,7 +41,12 @@ public class AnimatedSprite implements Sprite {
     private boolean animating;
 
     /**
-     * The {@link System#currentTimeMillis()} stamp of the last update.
+     * The clock the animation follows.
+     */
+    private final FrameClock clock;
+
+    /**
+     * The clock time at which the current frame was due.
      */
     private long lastUpdate;
 
@@ -73,15 +78,37 @@ public class AnimatedSprite implements Sprite {
      *            Whether or not this sprite is animating from the start.
      */
     public AnimatedSprite(Sprite[] frames, int delay, boolean loop, boolean isAnimating) {
+        this(frames, delay, loop, isAnimating, FrameClock.shared());
+    }
+
+    /**
+     * Creates a new animating sprite that will change frames every interval
+     * of the given clock.
+     *
+     * @param frames
+     *            The frames of this animation.
+     * @param delay
+     *            The delay between frames.
+     * @param loop
+     *            Whether or not this sprite should be looping.
+     * @param isAnimating
+     *            Whether or not this sprite is animating from the start.
+     * @param clock
+     *            The clock the animation follows.
+     */
+    public AnimatedSprite(Sprite[] frames, int delay, boolean loop, boolean isAnimating,
+                          FrameClock clock) {
         assert frames.length > 0;
+        assert clock != null;
 
         this.animationFrames = frames.clone();
-        this.animationDelay = delay;
+        this.animationDelay = Math.max(1, delay);
         this.looping = loop;
         this.animating = isAnimating;
+        this.clock = clock;
 
         this.current = 0;
-        this.lastUpdate = System.currentTimeMillis();
+        this.lastUpdate = clock.getTime();
     }
 
     /**
@@ -112,10 +139,22 @@ public class AnimatedSprite implements Sprite {
      */
     public void restart() {
         this.current = 0;
-        this.lastUpdate = System.currentTimeMillis();
+        this.lastUpdate = clock.getTime();
         setAnimating(true);
     }
 
+    /**
+     * Returns the index of the frame that is drawn now, so that callers can
+     * tell whether the sprite looks different than before.
+     *
+     * @return The index of the current frame, or the number of frames once a
+     *         non-looping animation has ended.
+     */
+    public int getFrame() {
+        update();
+        return current;
+    }
+
     @Override
     public void draw(Graphics graphics, int x, int y, int width, int height) {
         update();
@@ -129,22 +168,28 @@ public class AnimatedSprite implements Sprite {
     }
 
     /**
-     * Updates the current frame index depending on the current system time.
+     * Updates the current frame index depending on the time of the clock.
+     * The frames due since the last update are counted rather than stepped
+     * through, so that the cost does not grow with the time since then.
      */
     private void update() {
-        long now = System.currentTimeMillis();
-        if (animating) {
-            while (lastUpdate < now) {
-                lastUpdate += animationDelay;
-                current++;
-                if (looping) {
-                    current %= animationFrames.length;
-                } else if (current == animationFrames.length) {
-                    animating = false;
-                }
-            }
-        } else {
+        long now = clock.getTime();
+        if (!animating) {
             lastUpdate = now;
+            return;
+        }
+        if (lastUpdate >= now) {
+            return;
+        }
+        long steps = (now - lastUpdate + animationDelay - 1) / animationDelay;
+        lastUpdate += steps * animationDelay;
+        if (looping) {
+            current = (int) ((current + steps) % animationFrames.length);
+        } else if (steps >= animationFrames.length - current) {
+            current = animationFrames.length;
+            animating = false;
+        } else {
+            current += (int) steps;
         }
     }
 
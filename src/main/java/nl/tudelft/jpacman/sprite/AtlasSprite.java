@@ -0,0 +1,132 @@
+package nl.tudelft.jpacman.sprite;
+
+import java.awt.Graphics;
+
+/**
+ * A sprite covering a region of a loaded image, which is drawn from a
+ * {@link SpriteAtlas} holding it at the size it is drawn at.
+ */
+final class AtlasSprite implements Sprite {
+
+    /**
+     * The atlas this sprite is drawn from.
+     */
+    private final SpriteAtlas atlas;
+
+    /**
+     * The loaded image this sprite is a region of.
+     */
+    private final ImageSprite source;
+
+    /**
+     * The x coordinate of the region.
+     */
+    private final int x;
+
+    /**
+     * The y coordinate of the region.
+     */
+    private final int y;
+
+    /**
+     * The width of the region.
+     */
+    private final int width;
+
+    /**
+     * The height of the region.
+     */
+    private final int height;
+
+    /**
+     * The slot of this sprite in the atlas, or -1 if it has not been drawn
+     * yet. Guarded by the atlas.
+     */
+    private int slot = -1;
+
+    /**
+     * Creates a new sprite for a region of an image.
+     *
+     * @param atlas
+     *            The atlas to draw the sprite from.
+     * @param source
+     *            The loaded image.
+     * @param x
+     *            The x coordinate of the region.
+     * @param y
+     *            The y coordinate of the region.
+     * @param width
+     *            The width of the region.
+     * @param height
+     *            The height of the region.
+     */
+    AtlasSprite(SpriteAtlas atlas, ImageSprite source, int x, int y, int width, int height) {
+        this.atlas = atlas;
+        this.source = source;
+        this.x = x;
+        this.y = y;
+        this.width = width;
+        this.height = height;
+    }
+
+    @Override
+    public void draw(Graphics graphics, int destX, int destY, int destWidth, int destHeight) {
+        atlas.draw(this, graphics, destX, destY, destWidth, destHeight);
+    }
+
+    @Override
+    public Sprite split(int splitX, int splitY, int splitWidth, int splitHeight) {
+        if (splitX >= 0 && splitY >= 0 && splitWidth > 0 && splitHeight > 0
+            && splitX + splitWidth <= width && splitY + splitHeight <= height) {
+            return atlas.sprite(source, x + splitX, y + splitY, splitWidth, splitHeight);
+        }
+        return new EmptySprite();
+    }
+
+    /**
+     * @return The loaded image this sprite is a region of.
+     */
+    ImageSprite getSource() {
+        return source;
+    }
+
+    /**
+     * @return The x coordinate of the region.
+     */
+    int getX() {
+        return x;
+    }
+
+    /**
+     * @return The y coordinate of the region.
+     */
+    int getY() {
+        return y;
+    }
+
+    /**
+     * @return The slot of this sprite in the atlas, or -1 if it has not been
+     *         drawn yet.
+     */
+    int getSlot() {
+        return slot;
+    }
+
+    /**
+     * @param atlasSlot
+     *            The slot the atlas has given this sprite.
+     */
+    void setSlot(int atlasSlot) {
+        this.slot = atlasSlot;
+    }
+
+    @Override
+    public int getWidth() {
+        return width;
+    }
+
+    @Override
+    public int getHeight() {
+        return height;
+    }
+}
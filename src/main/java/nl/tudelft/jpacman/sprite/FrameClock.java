@@ -0,0 +1,72 @@
+package nl.tudelft.jpacman.sprite;
+
+import java.util.function.LongSupplier;
+
+/**
+ * The time animations are drawn at. The clock is sampled once per rendered
+ * frame by {@link #tick()}, so that all animated sprites of a frame show the
+ * same moment, and so that drawing a sprite does not read the system time.
+ * <p>
+ * A clock reading another time source than the system time, e.g. the number
+ * of the frame times a fixed interval, makes animations deterministic, which
+ * is useful when recording frames without a screen.
+ */
+public final class FrameClock {
+
+    /**
+     * The clock sprites use unless they are given another one.
+     */
+    private static final FrameClock SHARED = new FrameClock();
+
+    /**
+     * The source of the time, in milliseconds.
+     */
+    private final LongSupplier source;
+
+    /**
+     * The time sampled at the last tick, in milliseconds.
+     */
+    private volatile long time;
+
+    /**
+     * Creates a new clock reading {@link System#currentTimeMillis()}.
+     */
+    public FrameClock() {
+        this(System::currentTimeMillis);
+    }
+
+    /**
+     * Creates a new clock reading the given source, sampled once now.
+     *
+     * @param source
+     *            The source of the time, in milliseconds.
+     */
+    public FrameClock(LongSupplier source) {
+        assert source != null;
+        this.source = source;
+        this.time = source.getAsLong();
+    }
+
+    /**
+     * @return The clock sprites use unless they are given another one, which
+     *         reads the system time and is ticked by the UI.
+     */
+    public static FrameClock shared() {
+        return SHARED;
+    }
+
+    /**
+     * Samples the time source, which is the time animations are drawn at
+     * until the next tick.
+     */
+    public void tick() {
+        time = source.getAsLong();
+    }
+
+    /**
+     * @return The time sampled at the last tick, in milliseconds.
+     */
+    public long getTime() {
+        return time;
+    }
+}
@@ -0,0 +1,18 @@
+package nl.tudelft.jpacman.sprite;
+
+/**
+ * A sprite store that does not load any images, for games that are never
+ * drawn. All sprites are empty, so no image or toolkit classes are needed.
+ */
+public class HeadlessSprites extends PacManSprites {
+
+    /**
+     * The sprite handed out for every resource.
+     */
+    private final Sprite empty = new EmptySprite();
+
+    @Override
+    public Sprite loadSprite(String resource) {
+        return empty;
+    }
+}
@@ -6,6 +6,10 @@ import java.awt.GraphicsEnvironment;
 import java.awt.Image;
 import java.awt.Transparency;
 import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+
+import javax.imageio.ImageIO;
 
 /**
  * Basic implementation of a Sprite, it merely consists of a static image.
@@ -29,6 +33,28 @@ public class ImageSprite implements Sprite {
         this.image = img;
     }
 
+    /**
+     * Reads an image and creates a sprite from it. Decoding images here
+     * rather than in the {@link SpriteStore} keeps the image classes from
+     * being loaded by stores that never read an image.
+     *
+     * @param input
+     *            The stream to read the image from.
+     * @return A new sprite for the image.
+     * @throws IOException
+     *             When the image could not be read.
+     */
+    static ImageSprite read(InputStream input) throws IOException {
+        return new ImageSprite(ImageIO.read(input));
+    }
+
+    /**
+     * @return The image of this sprite.
+     */
+    Image getImage() {
+        return image;
+    }
+
     @Override
     public void draw(Graphics graphics, int x, int y, int width, int height) {
         graphics.drawImage(image, x, y, x + width, y + height, 0, 0,
@@ -52,8 +78,9 @@ public class ImageSprite implements Sprite {
     }
 
     /**
-     * Creates a new, empty image of the given width and height. Its
-     * transparency will be a bitmask, so no try ARGB image.
+     * Creates a new, empty image of the given width and height, compatible
+     * with the screen if there is one. Its transparency will be a bitmask,
+     * so no try ARGB image.
      *
      * @param width
      *            The width of the new image.
@@ -61,7 +88,10 @@ public class ImageSprite implements Sprite {
      *            The height of the new image.
      * @return The new, empty image.
      */
-    private BufferedImage newImage(int width, int height) {
+    static BufferedImage newImage(int width, int height) {
+        if (GraphicsEnvironment.isHeadless()) {
+            return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        }
         GraphicsConfiguration gc = GraphicsEnvironment
             .getLocalGraphicsEnvironment().getDefaultScreenDevice()
             .getDefaultConfiguration();
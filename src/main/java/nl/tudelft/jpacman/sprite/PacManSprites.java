@@ -51,6 +51,24 @@ public class PacManSprites extends SpriteStore {
      */
     private static final int ANIMATION_DELAY = 200;
 
+    /**
+     * Creates a new store of the Pac-Man sprites, of which the animations
+     * follow the {@link FrameClock#shared() shared clock}.
+     */
+    public PacManSprites() {
+        super();
+    }
+
+    /**
+     * Creates a new store of the Pac-Man sprites.
+     *
+     * @param clock
+     *            The clock the animations follow.
+     */
+    public PacManSprites(FrameClock clock) {
+        super(clock);
+    }
+
     /**
      * @return A map of animated Pac-Man sprites for all directions.
      */
@@ -0,0 +1,248 @@
+package nl.tudelft.jpacman.sprite;
+
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Packs the sprites cut from loaded images into one image per drawing size.
+ * <p>
+ * Drawing an image at another size than its own makes Java2D scale it on
+ * every call. The atlas does the scaling once instead: every sprite that is
+ * drawn gets a slot in a grid, and for every size the sprites are drawn at,
+ * the atlas keeps an image compatible with the screen that holds all of
+ * them at that size. Drawing a sprite then copies pixels one to one from
+ * that image. Images are only rebuilt when a sprite is drawn for the first
+ * time or at a new size, e.g. after the window is resized.
+ */
+public final class SpriteAtlas {
+
+    /**
+     * The number of slots in every row of the atlas.
+     */
+    private static final int COLUMNS = 16;
+
+    /**
+     * The number of sizes for which a scaled atlas is kept.
+     */
+    private static final int CACHED_SIZES = 4;
+
+    /**
+     * The sprites handed out, by the region of the image they cover, so that
+     * cutting the same region again gives the same sprite.
+     */
+    private final Map<Region, AtlasSprite> sprites = new HashMap<>();
+
+    /**
+     * The sprites that have been drawn, by their slot.
+     */
+    private final List<AtlasSprite> slots = new ArrayList<>();
+
+    /**
+     * The atlas scaled to each of the recently drawn sizes, by size.
+     */
+    private final Map<Long, Image> scaled = new HashMap<>();
+
+    /**
+     * The size of the last drawn sprite.
+     */
+    private long lastSize;
+
+    /**
+     * The atlas scaled to {@link #lastSize}, or <code>null</code> if it has to
+     * be looked up.
+     */
+    private Image lastAtlas;
+
+    /**
+     * Returns the sprite covering a region of a loaded image.
+     *
+     * @param image
+     *            The loaded image.
+     * @param x
+     *            The x coordinate of the region.
+     * @param y
+     *            The y coordinate of the region.
+     * @param width
+     *            The width of the region.
+     * @param height
+     *            The height of the region.
+     * @return The sprite for the region, which is the same for equal regions.
+     */
+    synchronized AtlasSprite sprite(ImageSprite image, int x, int y, int width, int height) {
+        return sprites.computeIfAbsent(new Region(image, x, y, width, height),
+            region -> new AtlasSprite(this, region.image, x, y, width, height));
+    }
+
+    /**
+     * @return The number of sprites that have a slot in the atlas.
+     */
+    public synchronized int getSlotCount() {
+        return slots.size();
+    }
+
+    /**
+     * @return The number of sizes for which a scaled atlas is cached.
+     */
+    public synchronized int getCachedSizes() {
+        return scaled.size();
+    }
+
+    /**
+     * Draws a sprite by copying it from the atlas scaled to the given size.
+     *
+     * @param sprite
+     *            The sprite to draw.
+     * @param graphics
+     *            The graphics context to draw on.
+     * @param x
+     *            The destination x coordinate.
+     * @param y
+     *            The destination y coordinate.
+     * @param width
+     *            The width to draw the sprite at.
+     * @param height
+     *            The height to draw the sprite at.
+     */
+    synchronized void draw(AtlasSprite sprite, Graphics graphics, int x, int y,
+                           int width, int height) {
+        if (width <= 0 || height <= 0) {
+            return;
+        }
+        if (sprite.getSlot() < 0) {
+            sprite.setSlot(slots.size());
+            slots.add(sprite);
+            scaled.clear();
+            lastAtlas = null;
+        }
+        Image atlas = atlasOfSize(width, height);
+        int sourceX = sprite.getSlot() % COLUMNS * width;
+        int sourceY = sprite.getSlot() / COLUMNS * height;
+        graphics.drawImage(atlas, x, y, x + width, y + height,
+            sourceX, sourceY, sourceX + width, sourceY + height, null);
+    }
+
+    /**
+     * Returns the atlas scaled to a size, scaling it if it is not cached.
+     *
+     * @param width
+     *            The width of a slot.
+     * @param height
+     *            The height of a slot.
+     * @return The scaled atlas.
+     */
+    private Image atlasOfSize(int width, int height) {
+        long size = ((long) width << Integer.SIZE) | height;
+        if (lastAtlas == null || size != lastSize) {
+            lastAtlas = scaled.get(size);
+            if (lastAtlas == null) {
+                if (scaled.size() == CACHED_SIZES) {
+                    scaled.clear();
+                }
+                lastAtlas = scale(width, height);
+                scaled.put(size, lastAtlas);
+            }
+            lastSize = size;
+        }
+        return lastAtlas;
+    }
+
+    /**
+     * Draws all sprites with a slot into a new image, each at the given size.
+     *
+     * @param width
+     *            The width of a slot.
+     * @param height
+     *            The height of a slot.
+     * @return The new atlas.
+     */
+    private Image scale(int width, int height) {
+        int rows = (slots.size() + COLUMNS - 1) / COLUMNS;
+        BufferedImage atlas = ImageSprite.newImage(COLUMNS * width, rows * height);
+        Graphics2D graphics = atlas.createGraphics();
+        for (int slot = 0; slot < slots.size(); slot++) {
+            AtlasSprite sprite = slots.get(slot);
+            int x = slot % COLUMNS * width;
+            int y = slot / COLUMNS * height;
+            graphics.drawImage(sprite.getSource().getImage(), x, y, x + width, y + height,
+                sprite.getX(), sprite.getY(), sprite.getX() + sprite.getWidth(),
+                sprite.getY() + sprite.getHeight(), null);
+        }
+        graphics.dispose();
+        return atlas;
+    }
+
+    /**
+     * A rectangle of a loaded image.
+     */
+    private static final class Region {
+
+        /**
+         * The image the region is part of.
+         */
+        private final ImageSprite image;
+
+        /**
+         * The x coordinate of the region.
+         */
+        private final int x;
+
+        /**
+         * The y coordinate of the region.
+         */
+        private final int y;
+
+        /**
+         * The width of the region.
+         */
+        private final int width;
+
+        /**
+         * The height of the region.
+         */
+        private final int height;
+
+        /**
+         * Creates a new region.
+         *
+         * @param image
+         *            The image the region is part of.
+         * @param x
+         *            The x coordinate of the region.
+         * @param y
+         *            The y coordinate of the region.
+         * @param width
+         *            The width of the region.
+         * @param height
+         *            The height of the region.
+         */
+        Region(ImageSprite image, int x, int y, int width, int height) {
+            this.image = image;
+            this.x = x;
+            this.y = y;
+            this.width = width;
+            this.height = height;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Region)) {
+                return false;
+            }
+            Region region = (Region) other;
+            return image == region.image && x == region.x && y == region.y
+                && width == region.width && height == region.height;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(System.identityHashCode(image), x, y, width, height);
+        }
+    }
+}
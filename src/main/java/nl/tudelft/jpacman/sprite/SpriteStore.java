@@ -2,14 +2,11 @@ package nl.tudelft.jpacman.sprite;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
-import java.awt.image.BufferedImage;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.HashMap;
 import java.util.Map;
 
-import javax.imageio.ImageIO;
-
 /**
  * Utility to load {@link Sprite}s.
  *
@@ -24,16 +21,48 @@ public class SpriteStore {
     private final Map<String, Sprite> spriteMap;
 
     /**
-     * Create a new sprite store.
+     * The atlas the sprites cut from loaded images are drawn from, created
+     * when the first image is loaded.
+     */
+    private SpriteAtlas atlas;
+
+    /**
+     * The clock the animated sprites of this store follow.
+     */
+    private final FrameClock clock;
+
+    /**
+     * Create a new sprite store, of which the animations follow the
+     * {@link FrameClock#shared() shared clock}.
      */
     public SpriteStore() {
-        spriteMap = new HashMap<>();
+        this(FrameClock.shared());
+    }
+
+    /**
+     * Create a new sprite store.
+     *
+     * @param clock
+     *            The clock the animated sprites of this store follow.
+     */
+    public SpriteStore(FrameClock clock) {
+        assert clock != null;
+        this.spriteMap = new HashMap<>();
+        this.clock = clock;
+    }
+
+    /**
+     * @return The clock the animated sprites of this store follow.
+     */
+    public FrameClock getClock() {
+        return clock;
     }
 
     /**
      * Loads a sprite from a resource on the class path.
      * Sprites are loaded once, and then stored in the store
-     * so that they can be efficiently retrieved.
+     * so that they can be efficiently retrieved. The store may be
+     * shared by games running on different threads.
      *
      * @param resource
      *            The resource path.
@@ -41,7 +70,7 @@ public class SpriteStore {
      * @throws IOException
      *             When the resource could not be loaded.
      */
-    public Sprite loadSprite(String resource) throws IOException {
+    public synchronized Sprite loadSprite(String resource) throws IOException {
         Sprite result = spriteMap.get(resource);
         if (result == null) {
             result = loadSpriteFromResource(resource);
@@ -68,9 +97,23 @@ public class SpriteStore {
             if (input == null) {
                 throw new IOException("Unable to load " + resource + ", resource does not exist.");
             }
-            BufferedImage image = ImageIO.read(input);
-            return new ImageSprite(image);
+            ImageSprite image = ImageSprite.read(input);
+            return getAtlas().sprite(image, 0, 0, image.getWidth(), image.getHeight());
+        }
+    }
+
+    /**
+     * Returns the atlas holding the sprites of this store, scaled to the
+     * sizes they are drawn at. Sprites split off a loaded sprite, including
+     * the frames of animations, are drawn from the same atlas.
+     *
+     * @return The atlas of this store.
+     */
+    public synchronized SpriteAtlas getAtlas() {
+        if (atlas == null) {
+            atlas = new SpriteAtlas();
         }
+        return atlas;
     }
 
     /**
@@ -99,7 +142,7 @@ public class SpriteStore {
                 baseImage.getHeight());
         }
 
-        return new AnimatedSprite(animation, delay, loop);
+        return new AnimatedSprite(animation, delay, loop, false, clock);
     }
 
 }
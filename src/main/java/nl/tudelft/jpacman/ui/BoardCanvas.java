@@ -0,0 +1,88 @@
+package nl.tudelft.jpacman.ui;
+
+import java.awt.Canvas;
+import java.awt.Dimension;
+import java.awt.Graphics;
+import java.awt.Toolkit;
+import java.awt.image.BufferStrategy;
+
+import nl.tudelft.jpacman.game.Game;
+
+/**
+ * Canvas displaying a game, drawn actively: every refresh renders the whole
+ * board into a back buffer of a {@link BufferStrategy} and shows it, on the
+ * thread calling {@link #refresh()} instead of the Swing event thread. This
+ * makes the moment a frame appears independent of how busy the event thread
+ * is.
+ */
+class BoardCanvas extends Canvas implements BoardView {
+
+    /**
+     * Default serialisation ID.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The number of buffers to draw with, i.e. one front and one back buffer.
+     */
+    private static final int BUFFERS = 2;
+
+    /**
+     * The game to display.
+     */
+    private final transient Game game;
+
+    /**
+     * The renderer drawing the board on the back buffer.
+     */
+    private final transient BoardRenderer renderer;
+
+    /**
+     * Creates a new board canvas that will display the provided game.
+     *
+     * @param game
+     *            The game to display.
+     */
+    BoardCanvas(Game game) {
+        super();
+        assert game != null;
+        this.game = game;
+        this.renderer = new BoardRenderer(this);
+
+        Dimension size = BoardRenderer.preferredSize(game.getLevel().getBoard());
+        setMinimumSize(size);
+        setPreferredSize(size);
+        // Every frame is drawn anyway, so paint requests of the system are not needed.
+        setIgnoreRepaint(true);
+    }
+
+    /**
+     * Renders the board and shows it, creating the buffers on the first
+     * call. Does nothing while the canvas is not on screen.
+     */
+    @Override
+    public void refresh() {
+        if (!isDisplayable() || getWidth() == 0 || getHeight() == 0) {
+            return;
+        }
+        BufferStrategy strategy = getBufferStrategy();
+        if (strategy == null) {
+            createBufferStrategy(BUFFERS);
+            strategy = getBufferStrategy();
+        }
+        // The buffers may be lost at any time, e.g. when the display mode
+        // changes, in which case the frame is drawn again.
+        do {
+            do {
+                Graphics graphics = strategy.getDrawGraphics();
+                try {
+                    renderer.render(game.getLevel(), graphics, getSize());
+                } finally {
+                    graphics.dispose();
+                }
+            } while (strategy.contentsRestored());
+            strategy.show();
+        } while (strategy.contentsLost());
+        Toolkit.getDefaultToolkit().sync();
+    }
+}
@@ -1,15 +1,16 @@
 package nl.tudelft.jpacman.ui;
 
-import java.awt.Color;
 import java.awt.Dimension;
 import java.awt.Graphics;
+import java.util.List;
 
 import javax.swing.JPanel;
+import javax.swing.SwingUtilities;
 
 import nl.tudelft.jpacman.board.Board;
 import nl.tudelft.jpacman.board.Square;
-import nl.tudelft.jpacman.board.Unit;
 import nl.tudelft.jpacman.game.Game;
+import nl.tudelft.jpacman.level.Level;
 
 /**
  * Panel displaying a game.
@@ -17,7 +18,7 @@ import nl.tudelft.jpacman.game.Game;
  * @author Jeroen Roosen 
  *
  */
-class BoardPanel extends JPanel {
+class BoardPanel extends JPanel implements BoardView {
 
     /**
      * Default serialisation ID.
@@ -25,20 +26,20 @@ class BoardPanel extends JPanel {
     private static final long serialVersionUID = 1L;
 
     /**
-     * The background colour of the board.
+     * The game to display.
      */
-    private static final Color BACKGROUND_COLOR = Color.BLACK;
+    private final Game game;
 
     /**
-     * The size (in pixels) of a square on the board. The initial size of this
-     * panel will scale to fit a board with square of this size.
+     * The renderer drawing the board on this panel.
      */
-    private static final int SQUARE_SIZE = 16;
+    private final transient BoardRenderer renderer;
 
     /**
-     * The game to display.
+     * The squares of the shown level that changed since they were last
+     * repainted, or <code>null</code> if the whole panel has to be repainted.
      */
-    private final Game game;
+    private transient DirtySquares dirtySquares;
 
     /**
      * Creates a new board panel that will display the provided game.
@@ -50,13 +51,9 @@ class BoardPanel extends JPanel {
         super();
         assert game != null;
         this.game = game;
+        this.renderer = new BoardRenderer(this);
 
-        Board board = game.getLevel().getBoard();
-
-        int w = board.getWidth() * SQUARE_SIZE;
-        int h = board.getHeight() * SQUARE_SIZE;
-
-        Dimension size = new Dimension(w, h);
+        Dimension size = BoardRenderer.preferredSize(game.getLevel().getBoard());
         setMinimumSize(size);
         setPreferredSize(size);
     }
@@ -64,57 +61,41 @@ class BoardPanel extends JPanel {
     @Override
     public void paint(Graphics g) {
         assert g != null;
-        render(game.getLevel().getBoard(), g, getSize());
+        renderer.render(game.getLevel(), g, getSize());
     }
 
     /**
-     * Renders the board on the given graphics context to the given dimensions.
-     *
-     * @param board
-     *            The board to render.
-     * @param graphics
-     *            The graphics context to draw on.
-     * @param window
-     *            The dimensions to scale the rendered board to.
+     * Asks for the squares that changed since the last refresh to be
+     * repainted, which may be none at all. Can be called from any thread.
      */
-    private void render(Board board, Graphics graphics, Dimension window) {
-        int cellW = window.width / board.getWidth();
-        int cellH = window.height / board.getHeight();
-
-        graphics.setColor(BACKGROUND_COLOR);
-        graphics.fillRect(0, 0, window.width, window.height);
-
-        for (int y = 0; y < board.getHeight(); y++) {
-            for (int x = 0; x < board.getWidth(); x++) {
-                int cellX = x * cellW;
-                int cellY = y * cellH;
-                Square square = board.squareAt(x, y);
-                render(square, graphics, cellX, cellY, cellW, cellH);
-            }
-        }
+    @Override
+    public void refresh() {
+        SwingUtilities.invokeLater(this::repaintChanges);
     }
 
     /**
-     * Renders a single square on the given graphics context on the specified
-     * rectangle.
-     *
-     * @param square
-     *            The square to render.
-     * @param graphics
-     *            The graphics context to draw on.
-     * @param x
-     *            The x position to start drawing.
-     * @param y
-     *            The y position to start drawing.
-     * @param width
-     *            The width of this square (in pixels.)
-     * @param height
-     *            The height of this square (in pixels.)
+     * Repaints the squares that changed, or the whole panel when another
+     * level is shown.
      */
-    private void render(Square square, Graphics graphics, int x, int y, int width, int height) {
-        square.getSprite().draw(graphics, x, y, width, height);
-        for (Unit unit : square.getOccupants()) {
-            unit.getSprite().draw(graphics, x, y, width, height);
+    private void repaintChanges() {
+        Level level = game.getLevel();
+        if (dirtySquares == null || dirtySquares.getLevel() != level) {
+            if (dirtySquares != null) {
+                dirtySquares.detach();
+            }
+            dirtySquares = new DirtySquares(level);
+            repaint();
+            return;
+        }
+        List<Square> changed = dirtySquares.takeChanged();
+        if (changed.isEmpty()) {
+            return;
+        }
+        Board board = level.getBoard();
+        int cellW = getWidth() / board.getWidth();
+        int cellH = getHeight() / board.getHeight();
+        for (Square square : changed) {
+            repaint(square.getX() * cellW, square.getY() * cellH, cellW, cellH);
         }
     }
 }
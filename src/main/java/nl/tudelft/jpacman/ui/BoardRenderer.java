@@ -0,0 +1,194 @@
+package nl.tudelft.jpacman.ui;
+
+import java.awt.Color;
+import java.awt.Component;
+import java.awt.Dimension;
+import java.awt.Graphics;
+import java.awt.GraphicsConfiguration;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.List;
+
+import nl.tudelft.jpacman.board.Board;
+import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.board.Unit;
+import nl.tudelft.jpacman.level.Level;
+
+/**
+ * Draws the board of a level scaled to the size of the component showing
+ * it, for both the passive {@link BoardPanel} and the actively rendered
+ * {@link BoardCanvas}.
+ */
+final class BoardRenderer {
+
+    /**
+     * The background colour of the board.
+     */
+    private static final Color BACKGROUND_COLOR = Color.BLACK;
+
+    /**
+     * The size (in pixels) of a square on the board. The initial size of the
+     * component will scale to fit a board with square of this size.
+     */
+    private static final int SQUARE_SIZE = 16;
+
+    /**
+     * The component the board is drawn on.
+     */
+    private final Component component;
+
+    /**
+     * The squares of the board drawn at the current size, or
+     * <code>null</code> if they have to be drawn again.
+     */
+    private BufferedImage background;
+
+    /**
+     * The board drawn on the {@link #background}.
+     */
+    private Board backgroundBoard;
+
+    /**
+     * Creates a new renderer.
+     *
+     * @param component
+     *            The component the board is drawn on, which provides the
+     *            screen to create images for.
+     */
+    BoardRenderer(Component component) {
+        this.component = component;
+    }
+
+    /**
+     * @param board
+     *            The board to show.
+     * @return The size a component needs to show the board at its initial
+     *         scale.
+     */
+    static Dimension preferredSize(Board board) {
+        return new Dimension(board.getWidth() * SQUARE_SIZE, board.getHeight() * SQUARE_SIZE);
+    }
+
+    /**
+     * Renders the board of a level on the given graphics context to the given
+     * dimensions. The squares never change, so they are drawn once into a
+     * background image, which is drawn again only when the component is
+     * resized or another level, and thereby board, is shown. Every frame then
+     * copies that image and draws only the pellets and the occupants of the
+     * squares on top of it.
+     *
+     * @param level
+     *            The level to render.
+     * @param graphics
+     *            The graphics context to draw on.
+     * @param window
+     *            The dimensions to scale the rendered board to.
+     */
+    void render(Level level, Graphics graphics, Dimension window) {
+        Board board = level.getBoard();
+        int cellW = window.width / board.getWidth();
+        int cellH = window.height / board.getHeight();
+
+        graphics.drawImage(background(board, window, cellW, cellH), 0, 0, null);
+        if (cellW == 0 || cellH == 0) {
+            return;
+        }
+
+        // Only the squares in the clip, typically the ones that changed.
+        Rectangle clip = graphics.getClipBounds();
+        if (clip == null) {
+            clip = new Rectangle(window);
+        }
+        int lastX = Math.min(board.getWidth() - 1, (clip.x + clip.width - 1) / cellW);
+        int lastY = Math.min(board.getHeight() - 1, (clip.y + clip.height - 1) / cellH);
+        for (int y = Math.max(0, clip.y / cellH); y <= lastY; y++) {
+            for (int x = Math.max(0, clip.x / cellW); x <= lastX; x++) {
+                drawSquare(level, graphics, x, y, cellW, cellH);
+            }
+        }
+    }
+
+    /**
+     * Draws the pellet and the occupants of a square, if any.
+     *
+     * @param level
+     *            The level being rendered.
+     * @param graphics
+     *            The graphics context to draw on.
+     * @param x
+     *            The column of the square.
+     * @param y
+     *            The row of the square.
+     * @param cellW
+     *            The width of a square (in pixels.)
+     * @param cellH
+     *            The height of a square (in pixels.)
+     */
+    @SuppressWarnings("PMD.ForLoopCanBeForeach")
+    private static void drawSquare(Level level, Graphics graphics, int x, int y,
+                                   int cellW, int cellH) {
+        Board board = level.getBoard();
+        Square square = board.squareAt(x, y);
+        if (level.getPellets().contains(board.indexOf(square))) {
+            level.getPelletSprite().draw(graphics, x * cellW, y * cellH, cellW, cellH);
+        }
+        // Indexed, so rendering a frame does not allocate an iterator per square.
+        List<Unit> occupants = square.getOccupants();
+        for (int i = 0; i < occupants.size(); i++) {
+            occupants.get(i).getSprite().draw(graphics, x * cellW, y * cellH, cellW, cellH);
+        }
+    }
+
+    /**
+     * Returns the image of all squares of a board, drawing it if the board or
+     * the size of the component changed since it was last drawn.
+     *
+     * @param board
+     *            The board to draw.
+     * @param window
+     *            The dimensions of the component.
+     * @param cellW
+     *            The width of a square (in pixels.)
+     * @param cellH
+     *            The height of a square (in pixels.)
+     * @return The image of the squares, as large as the component.
+     */
+    private BufferedImage background(Board board, Dimension window, int cellW, int cellH) {
+        if (background != null && backgroundBoard == board
+            && background.getWidth() == window.width
+            && background.getHeight() == window.height) {
+            return background;
+        }
+        background = createBackground(Math.max(1, window.width), Math.max(1, window.height));
+        backgroundBoard = board;
+
+        Graphics graphics = background.getGraphics();
+        graphics.setColor(BACKGROUND_COLOR);
+        graphics.fillRect(0, 0, window.width, window.height);
+        for (int y = 0; y < board.getHeight(); y++) {
+            for (int x = 0; x < board.getWidth(); x++) {
+                Square square = board.squareAt(x, y);
+                square.getSprite().draw(graphics, x * cellW, y * cellH, cellW, cellH);
+            }
+        }
+        graphics.dispose();
+        return background;
+    }
+
+    /**
+     * Creates an opaque image compatible with the screen the component is on.
+     *
+     * @param width
+     *            The width of the image.
+     * @param height
+     *            The height of the image.
+     * @return The new image.
+     */
+    private BufferedImage createBackground(int width, int height) {
+        GraphicsConfiguration configuration = component.getGraphicsConfiguration();
+        if (configuration == null) {
+            return new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        }
+        return configuration.createCompatibleImage(width, height);
+    }
+}
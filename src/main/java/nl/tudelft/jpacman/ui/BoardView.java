@@ -0,0 +1,14 @@
+package nl.tudelft.jpacman.ui;
+
+/**
+ * A component showing the board of the current level of a game, which is
+ * brought up to date once per frame.
+ */
+interface BoardView {
+
+    /**
+     * Brings the shown board up to date with the game. Called from the thread
+     * that times the frames.
+     */
+    void refresh();
+}
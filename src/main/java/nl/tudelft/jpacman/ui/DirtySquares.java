@@ -0,0 +1,117 @@
+package nl.tudelft.jpacman.ui;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.board.Unit;
+import nl.tudelft.jpacman.level.Level;
+import nl.tudelft.jpacman.level.Level.MoveObserver;
+import nl.tudelft.jpacman.sprite.AnimatedSprite;
+import nl.tudelft.jpacman.sprite.Sprite;
+
+/**
+ * Keeps track of the squares of a level that look different since they were
+ * last drawn: the squares units moved from and to, and the squares of units
+ * of which the sprite changed, e.g. to the next frame of an animation.
+ */
+class DirtySquares implements MoveObserver {
+
+    /**
+     * The level being watched.
+     */
+    private final Level level;
+
+    /**
+     * The squares changed by moves since they were last taken.
+     */
+    private final Set<Square> moved = new LinkedHashSet<>();
+
+    /**
+     * The sprite of every player and ghost when it was last checked.
+     */
+    private Sprite[] sprites = new Sprite[0];
+
+    /**
+     * The frame of the sprite of every player and ghost when it was last
+     * checked.
+     */
+    private int[] frames = new int[0];
+
+    /**
+     * Starts watching a level.
+     *
+     * @param level
+     *            The level to watch.
+     */
+    DirtySquares(Level level) {
+        this.level = level;
+        level.addMoveObserver(this);
+    }
+
+    /**
+     * Stops watching the level.
+     */
+    void detach() {
+        level.removeMoveObserver(this);
+    }
+
+    /**
+     * @return The level being watched.
+     */
+    Level getLevel() {
+        return level;
+    }
+
+    @Override
+    public synchronized void squaresChanged(Square from, Square to) {
+        moved.add(from);
+        moved.add(to);
+    }
+
+    /**
+     * Takes the squares that changed since the last call. Must be called on
+     * the thread that draws the sprites, as checking an animation advances
+     * it.
+     *
+     * @return The squares to draw again.
+     */
+    List<Square> takeChanged() {
+        List<Square> changed;
+        synchronized (this) {
+            changed = new ArrayList<>(moved);
+            moved.clear();
+        }
+        List<Unit> units = new ArrayList<>(level.getPlayers());
+        units.addAll(level.getGhosts());
+        if (units.size() != sprites.length) {
+            sprites = new Sprite[units.size()];
+            frames = new int[units.size()];
+        }
+        for (int i = 0; i < units.size(); i++) {
+            Unit unit = units.get(i);
+            Sprite sprite = unit.getSprite();
+            int frame = frameOf(sprite);
+            if ((sprite != sprites[i] || frame != frames[i]) && unit.hasSquare()) {
+                changed.add(unit.getSquare());
+            }
+            sprites[i] = sprite;
+            frames[i] = frame;
+        }
+        return changed;
+    }
+
+    /**
+     * @param sprite
+     *            The sprite to inspect.
+     * @return The frame an animated sprite is at, or zero for other sprites.
+     */
+    private static int frameOf(Sprite sprite) {
+        if (sprite instanceof AnimatedSprite) {
+            return ((AnimatedSprite) sprite).getFrame();
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,96 @@
+package nl.tudelft.jpacman.ui;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The thread that draws the frames of the UI at a target rate.
+ * <p>
+ * Frames are due at fixed points in time. When drawing a frame took so long
+ * that one or more of the next ones are already overdue, those are skipped
+ * rather than drawn in a burst to catch up, and the next frame is drawn at
+ * once. The time between the starts of frames and the skipped frames are
+ * recorded in {@link FrameTimes}.
+ */
+final class FrameLoop implements Runnable {
+
+    /**
+     * The number of nanoseconds in a second.
+     */
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    /**
+     * The time between frames, in nanoseconds.
+     */
+    private final long interval;
+
+    /**
+     * The task drawing a frame.
+     */
+    private final Runnable frame;
+
+    /**
+     * The histogram to record the frames in.
+     */
+    private final FrameTimes times;
+
+    /**
+     * Whether frames are still to be drawn.
+     */
+    private volatile boolean running;
+
+    /**
+     * Creates a new frame loop, which does not run yet.
+     *
+     * @param framesPerSecond
+     *            The target frame rate.
+     * @param frame
+     *            The task drawing a frame.
+     * @param times
+     *            The histogram to record the frames in.
+     */
+    FrameLoop(int framesPerSecond, Runnable frame, FrameTimes times) {
+        assert framesPerSecond > 0;
+        this.interval = SECOND / framesPerSecond;
+        this.frame = frame;
+        this.times = times;
+    }
+
+    /**
+     * Starts drawing frames on a new thread.
+     */
+    void start() {
+        running = true;
+        new Thread(this, "frame loop").start();
+    }
+
+    /**
+     * Stops drawing frames after the current one.
+     */
+    void stop() {
+        running = false;
+    }
+
+    @Override
+    public void run() {
+        long previous = System.nanoTime();
+        long due = previous;
+        while (running) {
+            frame.run();
+
+            due += interval;
+            long now = System.nanoTime();
+            long overdue = (now - due) / interval;
+            if (overdue > 0) {
+                times.skip(overdue);
+                due += overdue * interval;
+            }
+            while (due - now > 0 && running) {
+                LockSupport.parkNanos(due - now);
+                now = System.nanoTime();
+            }
+            times.record(now - previous);
+            previous = now;
+        }
+    }
+}
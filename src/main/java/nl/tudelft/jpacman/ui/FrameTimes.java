@@ -0,0 +1,154 @@
+package nl.tudelft.jpacman.ui;
+
+import java.util.Arrays;
+
+/**
+ * A histogram of the time between the starts of consecutive frames, in
+ * buckets of one millisecond, together with the number of frames that were
+ * skipped because the UI fell behind. A stable frame rate shows as one
+ * narrow peak at the frame interval.
+ */
+public final class FrameTimes {
+
+    /**
+     * The number of buckets. The last one also counts all longer frames.
+     */
+    private static final int BUCKETS = 100;
+
+    /**
+     * The number of nanoseconds in a millisecond.
+     */
+    private static final long MILLISECOND = 1_000_000L;
+
+    /**
+     * The number of frames that took as many milliseconds as the index,
+     * rounded down.
+     */
+    private final long[] counts = new long[BUCKETS];
+
+    /**
+     * The number of frames recorded.
+     */
+    private long frames;
+
+    /**
+     * The number of frames skipped.
+     */
+    private long skipped;
+
+    /**
+     * The sum of all recorded frame times, in nanoseconds.
+     */
+    private long total;
+
+    /**
+     * The longest recorded frame time, in nanoseconds.
+     */
+    private long longest;
+
+    /**
+     * Records the time a frame took.
+     *
+     * @param nanos
+     *            The time since the start of the previous frame, in
+     *            nanoseconds.
+     */
+    synchronized void record(long nanos) {
+        assert nanos >= 0;
+        counts[(int) Math.min(BUCKETS - 1, nanos / MILLISECOND)]++;
+        frames++;
+        total += nanos;
+        longest = Math.max(longest, nanos);
+    }
+
+    /**
+     * Records frames that were not drawn.
+     *
+     * @param count
+     *            The number of frames skipped.
+     */
+    synchronized void skip(long count) {
+        assert count >= 0;
+        skipped += count;
+    }
+
+    /**
+     * @return The number of frames recorded.
+     */
+    public synchronized long getFrameCount() {
+        return frames;
+    }
+
+    /**
+     * @return The number of frames skipped because the previous frames took
+     *         too long.
+     */
+    public synchronized long getSkippedFrames() {
+        return skipped;
+    }
+
+    /**
+     * @return The average frame time in milliseconds, or zero if no frames
+     *         have been recorded.
+     */
+    public synchronized double getAverageMillis() {
+        if (frames == 0) {
+            return 0;
+        }
+        return (double) total / frames / MILLISECOND;
+    }
+
+    /**
+     * @return The longest frame time in milliseconds.
+     */
+    public synchronized double getLongestMillis() {
+        return (double) longest / MILLISECOND;
+    }
+
+    /**
+     * Returns the frame time that the given fraction of the frames stayed
+     * under, e.g. 0.99 for the 99th percentile.
+     *
+     * @param fraction
+     *            The fraction of the frames, more than zero and at most one.
+     * @return The frame time in whole milliseconds, rounded up, or zero if
+     *         no frames have been recorded. Frame times past the last bucket
+     *         are reported as that bucket.
+     */
+    public synchronized int percentile(double fraction) {
+        assert fraction > 0 && fraction <= 1;
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            seen += counts[bucket];
+            if (seen > 0 && seen >= fraction * frames) {
+                return bucket + 1;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * @return The number of frames per millisecond of frame time, the index
+     *         being the number of whole milliseconds.
+     */
+    public synchronized long[] getHistogram() {
+        return Arrays.copyOf(counts, BUCKETS);
+    }
+
+    /**
+     * Forgets all recorded frames, e.g. to measure from a new point on.
+     */
+    public synchronized void reset() {
+        Arrays.fill(counts, 0);
+        frames = 0;
+        skipped = 0;
+        total = 0;
+        longest = 0;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("%d frames, %d skipped, %.2f ms average, %.2f ms longest",
+            frames, skipped, getAverageMillis(), getLongestMillis());
+    }
+}
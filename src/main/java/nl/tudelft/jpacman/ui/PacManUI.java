@@ -1,17 +1,16 @@
 package nl.tudelft.jpacman.ui;
 
 import java.awt.BorderLayout;
+import java.awt.Component;
 import java.awt.Container;
 import java.util.Map;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
 
 import javax.swing.JFrame;
 import javax.swing.JPanel;
 import javax.swing.WindowConstants;
 
 import nl.tudelft.jpacman.game.Game;
+import nl.tudelft.jpacman.sprite.FrameClock;
 import nl.tudelft.jpacman.ui.ScorePanel.ScoreFormatter;
 
 /**
@@ -25,6 +24,10 @@ import nl.tudelft.jpacman.ui.ScorePanel.ScoreFormatter;
  * <li>A button panel, containing all buttons provided upon creation.
  * </ul>
  *
+ * <p>The board is either repainted passively, by asking Swing to repaint the
+ * squares that changed, or actively, by drawing it into a buffer strategy
+ * on the thread timing the frames.
+ *
  * @author Jeroen Roosen 
  *
  */
@@ -36,10 +39,9 @@ public class PacManUI extends JFrame {
     private static final long serialVersionUID = 1L;
 
     /**
-     * The desired frame rate interval for the graphics in milliseconds, 40
-     * being 25 fps.
+     * The default frame rate of the graphics, in frames per second.
      */
-    private static final int FRAME_INTERVAL = 40;
+    public static final int DEFAULT_FRAME_RATE = 25;
 
     /**
      * The panel displaying the player scores.
@@ -47,12 +49,28 @@ public class PacManUI extends JFrame {
     private final ScorePanel scorePanel;
 
     /**
-     * The panel displaying the game.
+     * The component displaying the game.
      */
-    private final BoardPanel boardPanel;
+    private final transient BoardView boardView;
 
     /**
-     * Creates a new UI for a JPacman game.
+     * The thread drawing the frames.
+     */
+    private final transient FrameLoop frameLoop;
+
+    /**
+     * The clock the animations of the shown sprites follow.
+     */
+    private final transient FrameClock clock;
+
+    /**
+     * The times between the frames drawn so far.
+     */
+    private final transient FrameTimes frameTimes = new FrameTimes();
+
+    /**
+     * Creates a new UI for a JPacman game, which repaints passively at the
+     * {@link #DEFAULT_FRAME_RATE}.
      *
      * @param game
      *            The game to play.
@@ -68,10 +86,42 @@ public class PacManUI extends JFrame {
     public PacManUI(final Game game, final Map<String, Action> buttons,
                     final Map<Integer, Action> keyMappings,
                     ScoreFormatter scoreFormatter) {
+        this(game, buttons, keyMappings, scoreFormatter, false, DEFAULT_FRAME_RATE,
+            FrameClock.shared());
+    }
+
+    /**
+     * Creates a new UI for a JPacman game.
+     *
+     * @param game
+     *            The game to play.
+     * @param buttons
+     *            The map of caption-to-action entries that will appear as
+     *            buttons on the interface.
+     * @param keyMappings
+     *            The map of keyCode-to-action entries that will be added as key
+     *            listeners to the interface.
+     * @param scoreFormatter
+     *            The formatter used to display the current score.
+     * @param activeRendering
+     *            <code>true</code> to draw the board actively into a buffer
+     *            strategy, <code>false</code> to let Swing repaint it.
+     * @param frameRate
+     *            The number of frames to draw per second.
+     * @param clock
+     *            The clock the animations of the shown sprites follow, which
+     *            is ticked once per frame.
+     */
+    public PacManUI(final Game game, final Map<String, Action> buttons,
+                    final Map<Integer, Action> keyMappings,
+                    ScoreFormatter scoreFormatter,
+                    boolean activeRendering, int frameRate, FrameClock clock) {
         super("JPacman <2019>");
         assert game != null;
         assert buttons != null;
         assert keyMappings != null;
+        assert frameRate > 0;
+        assert clock != null;
 
         setDefaultCloseOperation(WindowConstants.EXIT_ON_CLOSE);
 
@@ -85,15 +135,42 @@ public class PacManUI extends JFrame {
             scorePanel.setScoreFormatter(scoreFormatter);
         }
 
-        boardPanel = new BoardPanel(game);
+        this.clock = clock;
+        boardView = createBoardView(game, activeRendering);
+        frameLoop = new FrameLoop(frameRate, this::nextFrame, frameTimes);
+
+        layOut(buttonPanel);
+        pack();
+    }
 
+    /**
+     * Places the buttons below the board and the scores above it.
+     *
+     * @param buttonPanel
+     *            The panel with the buttons.
+     */
+    private void layOut(JPanel buttonPanel) {
         Container contentPanel = getContentPane();
         contentPanel.setLayout(new BorderLayout());
         contentPanel.add(buttonPanel, BorderLayout.SOUTH);
         contentPanel.add(scorePanel, BorderLayout.NORTH);
-        contentPanel.add(boardPanel, BorderLayout.CENTER);
+        contentPanel.add((Component) boardView, BorderLayout.CENTER);
+    }
 
-        pack();
+    /**
+     * Creates the component displaying the game.
+     *
+     * @param game
+     *            The game to display.
+     * @param activeRendering
+     *            <code>true</code> for a component that is drawn actively.
+     * @return The new component.
+     */
+    private static BoardView createBoardView(Game game, boolean activeRendering) {
+        if (activeRendering) {
+            return new BoardCanvas(game);
+        }
+        return new BoardPanel(game);
     }
 
     /**
@@ -102,15 +179,34 @@ public class PacManUI extends JFrame {
      */
     public void start() {
         setVisible(true);
-        ScheduledExecutorService service = Executors.newSingleThreadScheduledExecutor();
-        service.scheduleAtFixedRate(this::nextFrame, 0, FRAME_INTERVAL, TimeUnit.MILLISECONDS);
+        frameLoop.start();
+    }
+
+    /**
+     * Stops drawing frames and releases the window.
+     */
+    @Override
+    public void dispose() {
+        frameLoop.stop();
+        super.dispose();
+    }
+
+    /**
+     * @return The times between the frames drawn so far, to measure how
+     *         steady the frame rate is.
+     */
+    public FrameTimes getFrameTimes() {
+        return frameTimes;
     }
 
     /**
-     * Draws the next frame, i.e. refreshes the scores and game.
+     * Draws the next frame, i.e. refreshes the scores and the parts of the
+     * game that changed. The clock is sampled first, so that the whole frame
+     * shows the animations at the same moment.
      */
     private void nextFrame() {
-        boardPanel.repaint();
+        clock.tick();
+        boardView.refresh();
         scorePanel.refresh();
     }
 }
@@ -5,6 +5,7 @@ import java.util.LinkedHashMap;
 import java.util.Map;
 
 import nl.tudelft.jpacman.game.Game;
+import nl.tudelft.jpacman.sprite.FrameClock;
 import nl.tudelft.jpacman.ui.ScorePanel.ScoreFormatter;
 
 /**
@@ -44,6 +45,21 @@ public class PacManUiBuilder {
      */
     private ScoreFormatter scoreFormatter = null;
 
+    /**
+     * <code>true</code> iff the board is drawn actively.
+     */
+    private boolean activeRendering;
+
+    /**
+     * The number of frames to draw per second.
+     */
+    private int frameRate = PacManUI.DEFAULT_FRAME_RATE;
+
+    /**
+     * The clock the animations of the shown sprites follow.
+     */
+    private FrameClock clock = FrameClock.shared();
+
     /**
      * Creates a new Pac-Man UI builder without any mapped keys or buttons.
      */
@@ -67,7 +83,8 @@ public class PacManUiBuilder {
             addStartButton(game);
             addStopButton(game);
         }
-        return new PacManUI(game, buttons, keyMappings, scoreFormatter);
+        return new PacManUI(game, buttons, keyMappings, scoreFormatter,
+            activeRendering, frameRate, clock);
     }
 
     /**
@@ -156,4 +173,45 @@ public class PacManUiBuilder {
         this.scoreFormatter = scoreFormatter;
         return this;
     }
+
+    /**
+     * Draws the board actively into a buffer strategy, on the thread timing
+     * the frames, instead of asking Swing to repaint it.
+     *
+     * @return The builder.
+     */
+    public PacManUiBuilder withActiveRendering() {
+        this.activeRendering = true;
+        return this;
+    }
+
+    /**
+     * Sets the number of frames to draw per second, which is
+     * {@value PacManUI#DEFAULT_FRAME_RATE} by default. Frames that cannot be
+     * drawn in time are skipped.
+     *
+     * @param framesPerSecond
+     *            The target frame rate, which must be positive.
+     * @return The builder.
+     */
+    public PacManUiBuilder withFrameRate(int framesPerSecond) {
+        assert framesPerSecond > 0;
+        this.frameRate = framesPerSecond;
+        return this;
+    }
+
+    /**
+     * Sets the clock the animations of the shown sprites follow, which the
+     * UI ticks once per frame. By default this is the
+     * {@link FrameClock#shared() shared clock}.
+     *
+     * @param frameClock
+     *            The clock of the sprite store of the game.
+     * @return The builder.
+     */
+    public PacManUiBuilder withClock(FrameClock frameClock) {
+        assert frameClock != null;
+        this.clock = frameClock;
+        return this;
+    }
 }
@@ -36,6 +36,37 @@ class BoardTest {
             .isInstanceOf(AssertionError.class);
     }
 
+    /**
+     * Squares are connected through the board, which wraps around at its
+     * edges.
+     */
+    @Test
+    void neighboursWrapAround() {
+        Square left = new BasicSquare();
+        Square right = new BasicSquare();
+
+        new Board(new Square[][] {{left}, {right}});
+
+        assertThat(left.getSquareAt(Direction.EAST)).isEqualTo(right);
+        assertThat(left.getSquareAt(Direction.WEST)).isEqualTo(right);
+        assertThat(left.getSquareAt(Direction.NORTH)).isEqualTo(left);
+    }
+
+    /**
+     * An explicit link takes precedence over the neighbour on the board.
+     */
+    @Test
+    void linkOverridesBoard() {
+        Square square = new BasicSquare();
+        Square elsewhere = new BasicSquare();
+        new Board(new Square[][] {{square}});
+
+        square.link(elsewhere, Direction.NORTH);
+
+        assertThat(square.getSquareAt(Direction.NORTH)).isEqualTo(elsewhere);
+        assertThat(square.getSquareAt(Direction.SOUTH)).isEqualTo(square);
+    }
+
     /**
      * Checks if assertions are enabled.
      *
@@ -58,4 +58,39 @@ class OccupantTest {
         assertThat(unit.getSquare()).isEqualTo(target);
         assertThat(target.getOccupants()).contains(unit);
     }
+
+    /**
+     * A unit on a board can be looked up by its type.
+     */
+    @Test
+    void registeredOnBoard() {
+        Board board = new Board(new Square[][] {{new BasicSquare(), new BasicSquare()}});
+        unit.occupy(board.squareAt(0, 0));
+        unit.occupy(board.squareAt(0, 1));
+        assertThat(board.getUnits(BasicUnit.class)).containsExactly((BasicUnit) unit);
+        assertThat(board.getUnits(Unit.class)).containsExactly(unit);
+    }
+
+    /**
+     * Units occupying a square before it is placed on a board are registered
+     * as well.
+     */
+    @Test
+    void registeredWhenPlaced() {
+        Square square = new BasicSquare();
+        unit.occupy(square);
+        Board board = new Board(new Square[][] {{square}});
+        assertThat(board.getUnits(Unit.class)).containsExactly(unit);
+    }
+
+    /**
+     * A unit that leaves the board is no longer registered.
+     */
+    @Test
+    void unregisteredOnLeave() {
+        Board board = new Board(new Square[][] {{new BasicSquare()}});
+        unit.occupy(board.squareAt(0, 0));
+        unit.leaveSquare();
+        assertThat(board.getUnits(Unit.class)).isEmpty();
+    }
 }
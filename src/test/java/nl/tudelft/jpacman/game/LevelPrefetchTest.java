@@ -0,0 +1,116 @@
+package nl.tudelft.jpacman.game;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import nl.tudelft.jpacman.PacmanConfigurationException;
+import nl.tudelft.jpacman.level.Level;
+import nl.tudelft.jpacman.level.Player;
+import nl.tudelft.jpacman.points.PointCalculator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests that a multi-level game creates its levels one ahead of the level
+ * being played.
+ */
+@SuppressWarnings("magicnumber")
+class LevelPrefetchTest {
+    /**
+     * The object under test, creating levels on the calling thread.
+     */
+    private MultiLevelSinglePlayerGame game;
+
+    private Player player;
+
+    /**
+     * The levels created so far, in order.
+     */
+    private List<Level> created;
+
+    /**
+     * Creates a game without levels.
+     */
+    @BeforeEach
+    void setUp() {
+        player = mock(Player.class);
+        created = new ArrayList<>();
+        game = new MultiLevelSinglePlayerGame(player, mock(PointCalculator.class), Runnable::run);
+    }
+
+    /**
+     * Test that only the first level is created before it is played.
+     */
+    @Test
+    void createFirstLevelOnly() {
+        addLevels(3);
+
+        assertThat(created).hasSize(1);
+        assertThat(game.levelsLeft()).isEqualTo(2);
+    }
+
+    /**
+     * Test that the next level is created while a level is played.
+     */
+    @Test
+    void createNextLevelWhilePlaying() {
+        addLevels(3);
+
+        Level first = game.getLevel();
+
+        assertThat(first).isSameAs(created.get(0));
+        assertThat(created).hasSize(2);
+        assertThat(game.levelsLeft()).isEqualTo(2);
+    }
+
+    /**
+     * Test that moving on plays the created level and creates the one
+     * after it.
+     */
+    @Test
+    void moveToNextLevel() {
+        addLevels(3);
+        game.getLevel();
+
+        game.nextLevel();
+
+        assertThat(game.getLevel()).isSameAs(created.get(1));
+        verify(created.get(1)).registerPlayer(player);
+        assertThat(created).hasSize(3);
+        assertThat(game.levelsLeft()).isEqualTo(1);
+    }
+
+    /**
+     * Test that a level that could not be created fails the game whenever it
+     * is needed, instead of being skipped.
+     */
+    @Test
+    void failedLevel() {
+        Supplier<Level> failing = () -> {
+            throw new PacmanConfigurationException("No such map.");
+        };
+        game.addLevel(failing);
+        addLevels(1);
+
+        assertThatThrownBy(game::getLevel).isInstanceOf(PacmanConfigurationException.class);
+        assertThatThrownBy(game::getLevel).isInstanceOf(PacmanConfigurationException.class);
+        assertThat(game.levelsLeft()).isEqualTo(1);
+        assertThat(created).isEmpty();
+    }
+
+    private void addLevels(int count) {
+        for (int i = 0; i < count; i++) {
+            game.addLevel(() -> {
+                Level level = mock(Level.class);
+                created.add(level);
+                return level;
+            });
+        }
+    }
+}
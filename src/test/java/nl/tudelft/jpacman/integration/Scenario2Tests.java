@@ -1,14 +1,12 @@
 package nl.tudelft.jpacman.integration;
 
 import nl.tudelft.jpacman.Launcher;
+import nl.tudelft.jpacman.board.Board;
 import nl.tudelft.jpacman.board.Direction;
 import nl.tudelft.jpacman.board.Square;
-import nl.tudelft.jpacman.board.Unit;
 import nl.tudelft.jpacman.game.Game;
 import nl.tudelft.jpacman.level.MapParser;
-import nl.tudelft.jpacman.level.Pellet;
 import nl.tudelft.jpacman.level.Player;
-import nl.tudelft.jpacman.npc.ghost.Navigation;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -72,8 +70,8 @@ public class Scenario2Tests {
         game.move(player, Direction.EAST);
         assertEquals(SCORE, player.getScore());
 // make sure the square is empty now
-        Unit pellet = Navigation.findUnit(Pellet.class, player.getSquare());
-        assertEquals(null, pellet);
+        Board board = game.getLevel().getBoard();
+        assertFalse(game.getLevel().getPellets().contains(board.indexOf(player.getSquare())));
     }
     /**
      * Scenario S2.2 - The player moves on empty square.
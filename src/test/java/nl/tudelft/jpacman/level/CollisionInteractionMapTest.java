@@ -0,0 +1,97 @@
+package nl.tudelft.jpacman.level;
+
+import nl.tudelft.jpacman.board.Unit;
+import nl.tudelft.jpacman.level.CollisionInteractionMap.CollisionHandler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+/**
+ * Tests the dispatch of collisions by the class of the colliding units.
+ */
+class CollisionInteractionMapTest {
+
+    /**
+     * The map under test.
+     */
+    private CollisionInteractionMap map;
+
+    private Player player;
+    private Pellet pellet;
+
+    /**
+     * Creates an empty map and the units to collide.
+     */
+    @BeforeEach
+    void setUp() {
+        map = new CollisionInteractionMap();
+        player = mock(Player.class);
+        pellet = mock(Pellet.class);
+    }
+
+    /**
+     * A handler listed for a superclass handles collisions of its subclasses,
+     * in both directions.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void superclassHandler() {
+        CollisionHandler<Player, Unit> handler = mock(CollisionHandler.class);
+        map.onCollision(Player.class, Unit.class, handler);
+
+        map.collide(player, pellet);
+        map.collide(pellet, player);
+
+        verify(handler, times(2)).handleCollision(player, pellet);
+    }
+
+    /**
+     * A handler added after a collision was dispatched is used for the next
+     * collision of the same classes.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void handlerAddedLater() {
+        CollisionHandler<Player, Pellet> handler = mock(CollisionHandler.class);
+
+        map.collide(player, pellet);
+        map.onCollision(Player.class, Pellet.class, handler);
+        map.collide(player, pellet);
+
+        verify(handler).handleCollision(player, pellet);
+    }
+
+    /**
+     * Collisions without a listed handler are ignored.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void noHandler() {
+        CollisionHandler<Player, Pellet> handler = mock(CollisionHandler.class);
+        map.onCollision(Player.class, Pellet.class, false, handler);
+
+        map.collide(pellet, player);
+        map.collide(pellet, pellet);
+
+        verify(handler, never()).handleCollision(player, pellet);
+        verifyZeroInteractions(player, pellet);
+    }
+
+    /**
+     * A handler listed as <code>null</code> is treated as no handler.
+     */
+    @Test
+    void nullHandler() {
+        map.onCollision(Player.class, Pellet.class, false, null);
+
+        map.collide(player, pellet);
+        map.collide(player, pellet);
+
+        verifyZeroInteractions(player, pellet);
+    }
+}
@@ -0,0 +1,169 @@
+package nl.tudelft.jpacman.level;
+
+import com.google.common.collect.Lists;
+import nl.tudelft.jpacman.PacmanConfigurationException;
+import nl.tudelft.jpacman.board.Board;
+import nl.tudelft.jpacman.board.BoardFactory;
+import nl.tudelft.jpacman.npc.ghost.GhostFactory;
+import nl.tudelft.jpacman.points.DefaultPointCalculator;
+import nl.tudelft.jpacman.sprite.HeadlessSprites;
+import nl.tudelft.jpacman.sprite.PacManSprites;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests that compiled maps load into the same levels as the text maps they
+ * were compiled from.
+ */
+class CompiledMapTest {
+    private static final PacManSprites SPRITES = new HeadlessSprites();
+
+    private static final List<String> MAP = Lists.newArrayList(
+        "#G#P#",
+        "G.. G",
+        "#P#.#");
+
+    /**
+     * The loader under test.
+     */
+    private CompiledMapLoader loader;
+
+    /**
+     * Creates the loader with real factories.
+     */
+    @BeforeEach
+    void setUp() {
+        loader = new CompiledMapLoader(levelFactory(), new BoardFactory(SPRITES));
+    }
+
+    /**
+     * Test that a compiled map gives the squares, pellets, ghosts and start
+     * positions of its text map.
+     */
+    @Test
+    void sameLevelAsText() {
+        Level parsed = new MapParser(levelFactory(), new BoardFactory(SPRITES)).parseMap(MAP);
+        Level loaded = loader.load(ByteBuffer.wrap(MapCompiler.compile(text(MAP))));
+
+        assertThat(describe(loaded)).isEqualTo(describe(parsed));
+        assertThat(loaded.remainingPellets()).isEqualTo(parsed.remainingPellets());
+        assertThat(ghostTypes(loaded)).isEqualTo(ghostTypes(parsed));
+    }
+
+    /**
+     * Test that the players are put on the start positions of the map, in
+     * the order the text map gives them.
+     */
+    @Test
+    @SuppressWarnings("magicnumber")
+    void startPositions() {
+        Level level = loader.load(ByteBuffer.wrap(MapCompiler.compile(text(MAP))));
+        Player first = new PlayerFactory(SPRITES).createPacMan();
+        Player second = new PlayerFactory(SPRITES).createPacMan();
+        level.registerPlayer(first);
+        level.registerPlayer(second);
+
+        assertThat(first.getSquare()).isSameAs(level.getBoard().squareAt(1, 2));
+        assertThat(second.getSquare()).isSameAs(level.getBoard().squareAt(3, 0));
+    }
+
+    /**
+     * Test that a map file can be compiled to a file and loaded from it.
+     *
+     * @param directory
+     *            A directory to write the map files to.
+     * @throws IOException in case a map file could not be written or read.
+     */
+    @Test
+    void compileFile(@TempDir Path directory) throws IOException {
+        Path text = Files.write(directory.resolve("map.txt"), MAP);
+        Path compiled = directory.resolve("map.jpm");
+        MapCompiler.compile(text, compiled);
+
+        Level level = loader.load(compiled);
+
+        assertThat(describe(level))
+            .isEqualTo(String.join("\n", MAP).replace('P', ' ') + "\n");
+    }
+
+    /**
+     * Test that bytes that are not a compiled map, or only part of one, are
+     * rejected.
+     */
+    @Test
+    void rejectCorruptMaps() {
+        byte[] compiled = MapCompiler.compile(text(MAP));
+        byte[] magic = compiled.clone();
+        magic[0] = 'X';
+
+        assertThatThrownBy(() -> loader.load(ByteBuffer.wrap(magic)))
+            .isInstanceOf(PacmanConfigurationException.class);
+        assertThatThrownBy(() -> loader.load(
+            ByteBuffer.wrap(Arrays.copyOf(compiled, compiled.length - 1))))
+            .isInstanceOf(PacmanConfigurationException.class);
+    }
+
+    /**
+     * Test that text maps with unknown characters are not compiled.
+     */
+    @Test
+    void rejectInvalidCharacters() {
+        assertThatThrownBy(() -> MapCompiler.compile(text(Lists.newArrayList("#X#"))))
+            .isInstanceOf(PacmanConfigurationException.class);
+    }
+
+    private static LevelFactory levelFactory() {
+        return new LevelFactory(SPRITES, new GhostFactory(SPRITES), new DefaultPointCalculator());
+    }
+
+    private static ByteBuffer text(List<String> rows) {
+        return ByteBuffer.wrap(String.join("\n", rows).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * @return The level as a text map, without its start positions.
+     */
+    private static String describe(Level level) {
+        Board board = level.getBoard();
+        StringBuilder text = new StringBuilder();
+        for (int y = 0; y < board.getHeight(); y++) {
+            for (int x = 0; x < board.getWidth(); x++) {
+                text.append(charOf(level, x, y));
+            }
+            text.append('\n');
+        }
+        return text.toString();
+    }
+
+    private static char charOf(Level level, int x, int y) {
+        Board board = level.getBoard();
+        if (!board.squareAt(x, y).isAccessibleTo(null)) {
+            return '#';
+        }
+        if (level.getPellets().contains(board.indexOf(board.squareAt(x, y)))) {
+            return '.';
+        }
+        if (board.squareAt(x, y).getOccupants().isEmpty()) {
+            return ' ';
+        }
+        return 'G';
+    }
+
+    private static String ghostTypes(Level level) {
+        StringBuilder types = new StringBuilder();
+        level.getGhosts().forEach(ghost -> types.append(ghost.getClass().getSimpleName()));
+        return types.toString();
+    }
+}
@@ -0,0 +1,122 @@
+package nl.tudelft.jpacman.level;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.simulation.Simulation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests rolling a level back to a snapshot.
+ */
+@SuppressWarnings("magicnumber")
+class LevelSnapshotTest {
+
+    /**
+     * The level under test.
+     */
+    private Level level;
+
+    /**
+     * The player on the level.
+     */
+    private Player player;
+
+    /**
+     * Starts a level with a player between pellets and a ghost.
+     */
+    @BeforeEach
+    void setUp() {
+        Simulation simulation = Simulation.of(
+            Arrays.asList("#########", "#..P. G #", "#########"), (lvl, plr) -> null);
+        level = simulation.getLevel();
+        player = simulation.getPlayer();
+        level.start();
+    }
+
+    /**
+     * Eaten pellets, points and moves are undone.
+     */
+    @Test
+    void undoEating() {
+        Square start = player.getSquare();
+        LevelSnapshot snapshot = level.snapshot();
+        level.move(player, Direction.WEST);
+        level.move(player, Direction.WEST);
+
+        level.restore(snapshot);
+
+        assertThat(player.getSquare()).isEqualTo(start);
+        assertThat(player.getDirection()).isEqualTo(snapshot.getDirection(0));
+        assertThat(player.getScore()).isZero();
+        assertThat(level.remainingPellets()).isEqualTo(snapshot.remainingPellets()).isEqualTo(3);
+        assertThat(level.getPellets().count()).isEqualTo(3);
+    }
+
+    /**
+     * A player caught by a ghost comes back to life.
+     */
+    @Test
+    void undoDeath() {
+        LevelSnapshot snapshot = level.snapshot();
+        level.move(player, Direction.EAST);
+        level.move(player, Direction.EAST);
+        level.move(player, Direction.EAST);
+        assertThat(player.isAlive()).isFalse();
+
+        level.restore(snapshot);
+
+        assertThat(player.isAlive()).isTrue();
+        assertThat(player.getKiller()).isNull();
+        assertThat(level.remainingPellets()).isEqualTo(3);
+    }
+
+    /**
+     * A snapshot can be restored any number of times.
+     */
+    @Test
+    void branchRepeatedly() {
+        LevelSnapshot snapshot = level.snapshot();
+        for (Direction direction : Direction.values()) {
+            level.move(player, direction);
+            level.restore(snapshot);
+        }
+        level.move(player, Direction.EAST);
+        LevelSnapshot later = level.snapshot();
+        level.restore(snapshot);
+        level.restore(later);
+
+        assertThat(player.getScore()).isEqualTo(later.totalScore()).isPositive();
+        assertThat(level.remainingPellets()).isEqualTo(2);
+    }
+
+    /**
+     * Move observers are told about the squares of the units and pellets
+     * that were put back, so they can be drawn again.
+     */
+    @Test
+    void reportRestoredSquares() {
+        Square start = player.getSquare();
+        Square west = start.getSquareAt(Direction.WEST);
+        LevelSnapshot snapshot = level.snapshot();
+        level.move(player, Direction.WEST);
+        List<Square> changed = new ArrayList<>();
+        level.addMoveObserver(new Level.MoveObserver() {
+            @Override
+            public void squaresChanged(Square from, Square to) {
+                changed.add(from);
+                changed.add(to);
+            }
+        });
+
+        level.restore(snapshot);
+
+        assertThat(changed).contains(start, west);
+    }
+}
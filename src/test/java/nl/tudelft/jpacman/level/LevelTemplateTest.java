@@ -0,0 +1,100 @@
+package nl.tudelft.jpacman.level;
+
+import com.google.common.collect.Lists;
+import nl.tudelft.jpacman.PacmanConfigurationException;
+import nl.tudelft.jpacman.board.BoardFactory;
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.npc.ghost.GhostFactory;
+import nl.tudelft.jpacman.points.DefaultPointCalculator;
+import nl.tudelft.jpacman.sprite.HeadlessSprites;
+import nl.tudelft.jpacman.sprite.PacManSprites;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests that levels created from one template do not share any state.
+ */
+class LevelTemplateTest {
+    private static final PacManSprites SPRITES = new HeadlessSprites();
+
+    /**
+     * The template the levels are created from.
+     */
+    private LevelTemplate template;
+
+    /**
+     * The parser creating the levels.
+     */
+    private MapParser parser;
+
+    /**
+     * Reads a small map with two pellets to the east of the start position.
+     */
+    @BeforeEach
+    void setUp() {
+        template = LevelTemplate.of(Lists.newArrayList("#####", "#P..#", "#####"));
+        parser = new MapParser(
+            new LevelFactory(SPRITES, new GhostFactory(SPRITES), new DefaultPointCalculator()),
+            new BoardFactory(SPRITES));
+    }
+
+    /**
+     * Test that every level gets squares and pellets of its own, so playing
+     * one level leaves the others as they were.
+     */
+    @Test
+    void levelsAreIndependent() {
+        Level first = parser.parseMap(template);
+        Level second = parser.parseMap(template);
+        Player player = new PlayerFactory(SPRITES).createPacMan();
+        first.registerPlayer(player);
+        first.start();
+        first.move(player, Direction.EAST);
+        first.stop();
+
+        assertThat(first.getBoard().squareAt(1, 1))
+            .isNotSameAs(second.getBoard().squareAt(1, 1));
+        assertThat(first.remainingPellets()).isEqualTo(1);
+        assertThat(second.remainingPellets()).isEqualTo(2);
+    }
+
+    /**
+     * Test that a map resource is read once and then kept.
+     *
+     * @throws IOException in case the map could not be read.
+     */
+    @Test
+    void cacheReadsOnce() throws IOException {
+        LevelTemplateCache cache = new LevelTemplateCache();
+
+        LevelTemplate cached = cache.get("/simplemap.txt");
+
+        assertThat(cache.get("/simplemap.txt")).isSameAs(cached);
+        assertThat(parser.parseMap(cached).remainingPellets()).isEqualTo(1);
+    }
+
+    /**
+     * Test that a resource that does not exist cannot be read.
+     */
+    @Test
+    void missingResource() {
+        assertThatThrownBy(() -> new LevelTemplateCache().get("/nosuchmap.txt"))
+            .isInstanceOf(PacmanConfigurationException.class);
+    }
+
+    /**
+     * Test that badly formatted rows are rejected like the parser rejects
+     * them.
+     */
+    @Test
+    void unequalRows() {
+        assertThatThrownBy(() -> LevelTemplate.of(Lists.newArrayList("##", "#")))
+            .isInstanceOf(PacmanConfigurationException.class)
+            .hasMessage("Input text lines are not of equal width.");
+    }
+}
@@ -0,0 +1,153 @@
+package nl.tudelft.jpacman.level;
+
+import nl.tudelft.jpacman.PacmanConfigurationException;
+import nl.tudelft.jpacman.board.BoardFactory;
+import nl.tudelft.jpacman.npc.ghost.GhostFactory;
+import nl.tudelft.jpacman.points.DefaultPointCalculator;
+import nl.tudelft.jpacman.sprite.HeadlessSprites;
+import nl.tudelft.jpacman.sprite.PacManSprites;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests the mazes generated by the {@link MapGenerator}.
+ */
+@SuppressWarnings("magicnumber")
+class MapGeneratorTest {
+    private static final PacManSprites SPRITES = new HeadlessSprites();
+
+    /**
+     * Test that the same seed gives the same maze and another seed another
+     * maze.
+     */
+    @Test
+    void reproducible() {
+        ByteBuffer maze = new MapGenerator(41, 30, 7L).generate();
+
+        assertThat(new MapGenerator(41, 30, 7L).generate()).isEqualTo(maze);
+        assertThat(new MapGenerator(41, 30, 8L).generate()).isNotEqualTo(maze);
+    }
+
+    /**
+     * Test that every open square can be reached from every other one, also
+     * in a maze without loops.
+     */
+    @Test
+    void connected() {
+        assertThat(unreachable(new MapGenerator(41, 30, 7L).generate(), 41, 30)).isZero();
+        assertThat(unreachable(new MapGenerator(40, 31, 7L).withOpenness(0).generate(), 40, 31))
+            .isZero();
+    }
+
+    /**
+     * Test that a level of a maze has the size and units asked for.
+     */
+    @Test
+    void createLevel() {
+        MapParser parser = new MapParser(
+            new LevelFactory(SPRITES, new GhostFactory(SPRITES), new DefaultPointCalculator()),
+            new BoardFactory(SPRITES));
+
+        Level level = new MapGenerator(25, 20, 3L).withGhosts(6).withPelletDensity(0)
+            .createLevel(parser);
+
+        assertThat(level.getBoard().getWidth()).isEqualTo(25);
+        assertThat(level.getBoard().getHeight()).isEqualTo(20);
+        assertThat(level.getGhosts()).hasSize(6);
+        assertThat(level.remainingPellets()).isZero();
+    }
+
+    /**
+     * Test that a maze written to a file can be parsed.
+     *
+     * @param directory
+     *            A directory to write the map file to.
+     * @throws IOException in case the map file could not be written or read.
+     */
+    @Test
+    void writeFile(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("maze.txt");
+        new MapGenerator(32, 30, 5L).write(file);
+
+        Level level = new MapParser(
+            new LevelFactory(SPRITES, new GhostFactory(SPRITES), new DefaultPointCalculator()),
+            new BoardFactory(SPRITES)).parseMap(file);
+
+        assertThat(level.getBoard().getWidth()).isEqualTo(32);
+        assertThat(level.getBoard().getHeight()).isEqualTo(30);
+        assertThat(level.getGhosts()).hasSize(MapGenerator.DEFAULT_GHOSTS);
+    }
+
+    /**
+     * Test that a maze without room for all ghosts is refused instead of
+     * searching forever for a free cell.
+     */
+    @Test
+    void tooManyGhosts() {
+        assertThatThrownBy(() -> new MapGenerator(5, 5, 1L).generate())
+            .isInstanceOf(PacmanConfigurationException.class);
+        assertThat(new MapGenerator(5, 5, 1L).withGhosts(3).generate().remaining())
+            .isEqualTo(30);
+    }
+
+    /**
+     * Counts the open squares that cannot be reached from the first one,
+     * with paths wrapping around the edges of the board.
+     */
+    private static int unreachable(ByteBuffer maze, int width, int height) {
+        byte[] map = new byte[maze.remaining()];
+        maze.get(map);
+        int first = -1;
+        int open = 0;
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                if (map[y * (width + 1) + x] != '#') {
+                    open++;
+                    if (first < 0) {
+                        first = y * width + x;
+                    }
+                }
+            }
+        }
+        return open - reachable(map, width, height, first);
+    }
+
+    /**
+     * Counts the open squares that can be reached from the given one, with
+     * paths wrapping around the edges of the board.
+     */
+    private static int reachable(byte[] map, int width, int height, int start) {
+        boolean[] seen = new boolean[width * height];
+        Deque<Integer> queue = new ArrayDeque<>();
+        queue.add(start);
+        seen[start] = true;
+        int reached = 0;
+        while (!queue.isEmpty()) {
+            int square = queue.poll();
+            reached++;
+            int x = square % width;
+            int y = square / width;
+            int[] neighbours = {
+                y * width + (x + 1) % width,
+                y * width + (x + width - 1) % width,
+                (y + 1) % height * width + x,
+                (y + height - 1) % height * width + x};
+            for (int next : neighbours) {
+                if (!seen[next] && map[next / width * (width + 1) + next % width] != '#') {
+                    seen[next] = true;
+                    queue.add(next);
+                }
+            }
+        }
+        return reached;
+    }
+}
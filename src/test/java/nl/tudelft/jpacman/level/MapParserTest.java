@@ -6,8 +6,13 @@ import nl.tudelft.jpacman.board.Square;
 import nl.tudelft.jpacman.npc.Ghost;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
@@ -15,8 +20,11 @@ import static java.util.Collections.singletonList;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -83,18 +91,12 @@ class MapParserTest {
      */
     @Test
     void parsePellet() {
-        Square square = mock(Square.class);
-        when(boardFactory.createGround()).thenReturn(square);
-
-        Pellet pellet = mock(Pellet.class);
-        when(levelFactory.createPellet()).thenReturn(pellet);
-
         mapParser.parseMap(singletonList("."));
 
         verify(boardFactory).createGround();
-        verify(levelFactory).createPellet();
-        verify(pellet).occupy(square);
-        verifyLevelCreated();
+        verify(levelFactory, never()).createPellet();
+        verify(levelFactory).createLevel(any(), anyList(), anyList(),
+            argThat(pellets -> pellets.contains(0)));
     }
 
     /**
@@ -110,7 +112,8 @@ class MapParserTest {
         mapParser.parseMap(singletonList("P"));
 
         verify(boardFactory).createGround();
-        verify(levelFactory).createLevel(any(), anyList(), eq(singletonList(playerSquare)));
+        verify(levelFactory).createLevel(any(), anyList(), eq(singletonList(playerSquare)),
+            any());
     }
 
     /**
@@ -168,6 +171,57 @@ class MapParserTest {
         verifyLevelCreated();
     }
 
+    /**
+     * Test that rows of bytes can be parsed, whatever line breaks separate
+     * them.
+     *
+     * [Good Weather]
+     */
+    @Test
+    void parseBytes() {
+        mapParser.parseMap(bytes("#P\r\n #\n"));
+
+        verify(boardFactory, times(2)).createWall();
+        verify(boardFactory, times(2)).createGround();
+        verifyLevelCreated();
+    }
+
+    /**
+     * Test that a map file can be parsed by mapping it into memory.
+     *
+     * [Good Weather]
+     *
+     * @param directory
+     *            A directory to write the map file to.
+     * @throws IOException in case the map file could not be written or read.
+     */
+    @Test
+    void parseMappedFile(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("map.txt");
+        Files.write(file, "P#\n".getBytes(StandardCharsets.US_ASCII));
+
+        mapParser.parseMap(file);
+
+        verify(boardFactory).createGround();
+        verify(boardFactory).createWall();
+        verifyLevelCreated();
+    }
+
+    /**
+     * Test that rows of bytes must be present, not empty and of equal width.
+     *
+     * [Bad Weather]
+     */
+    @Test
+    void invalidBytes() {
+        assertThatThrownBy(() -> mapParser.parseMap(bytes("")))
+            .isInstanceOf(PacmanConfigurationException.class);
+        assertThatThrownBy(() -> mapParser.parseMap(bytes("\n#")))
+            .isInstanceOf(PacmanConfigurationException.class);
+        assertThatThrownBy(() -> mapParser.parseMap(bytes("##\n#\n")))
+            .isInstanceOf(PacmanConfigurationException.class);
+    }
+
     /**
      * Test that parsing zero lines fails.
      *
@@ -223,10 +277,19 @@ class MapParserTest {
             .isInstanceOf(PacmanConfigurationException.class);
     }
 
+    /**
+     * @param text
+     *            The text of a map.
+     * @return The bytes of the map.
+     */
+    private static ByteBuffer bytes(String text) {
+        return ByteBuffer.wrap(text.getBytes(StandardCharsets.US_ASCII));
+    }
+
     /**
      * Verifies that a level is created.
      */
     void verifyLevelCreated() {
-        verify(levelFactory).createLevel(any(), anyList(), anyList());
+        verify(levelFactory).createLevel(any(), anyList(), anyList(), any());
     }
 }
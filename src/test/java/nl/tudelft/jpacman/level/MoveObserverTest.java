@@ -0,0 +1,89 @@
+package nl.tudelft.jpacman.level;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.simulation.Simulation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests the squares reported to move observers.
+ */
+class MoveObserverTest {
+
+    /**
+     * The level under test.
+     */
+    private Level level;
+
+    /**
+     * The player on the level.
+     */
+    private Player player;
+
+    /**
+     * The squares reported, from and to in turn.
+     */
+    private final List<Square> changed = new ArrayList<>();
+
+    /**
+     * The observer adding to {@link #changed}.
+     */
+    private final Level.MoveObserver observer = new Level.MoveObserver() {
+        @Override
+        public void squaresChanged(Square from, Square to) {
+            changed.add(from);
+            changed.add(to);
+        }
+    };
+
+    /**
+     * Starts a level with a player next to a wall, and observes it.
+     */
+    @BeforeEach
+    void setUp() {
+        Simulation simulation = Simulation.of(
+            Arrays.asList("#####", "#P. #", "#####"), (lvl, plr) -> null);
+        level = simulation.getLevel();
+        player = simulation.getPlayer();
+        level.addMoveObserver(observer);
+        level.start();
+    }
+
+    /**
+     * A move reports the square left and the square entered.
+     */
+    @Test
+    void reportMove() {
+        Square start = player.getSquare();
+        level.move(player, Direction.EAST);
+        assertThat(changed).containsExactly(start, player.getSquare());
+    }
+
+    /**
+     * Bumping into a wall reports the square of the unit, which may have
+     * turned.
+     */
+    @Test
+    void reportBump() {
+        Square start = player.getSquare();
+        level.move(player, Direction.WEST);
+        assertThat(changed).containsExactly(start, start);
+    }
+
+    /**
+     * Removed observers are no longer told about moves.
+     */
+    @Test
+    void removeObserver() {
+        level.removeMoveObserver(observer);
+        level.move(player, Direction.EAST);
+        assertThat(changed).isEmpty();
+    }
+}
@@ -0,0 +1,102 @@
+package nl.tudelft.jpacman.level;
+
+import com.google.common.collect.Lists;
+import nl.tudelft.jpacman.board.BoardFactory;
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.npc.ghost.GhostFactory;
+import nl.tudelft.jpacman.points.DefaultPointCalculator;
+import nl.tudelft.jpacman.sprite.PacManSprites;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests that the level keeps track of the remaining pellets while units move.
+ */
+class PelletCountTest {
+    private static final PacManSprites SPRITES = new PacManSprites();
+
+    /**
+     * The level under test.
+     */
+    private Level level;
+
+    /**
+     * The player moving around on the level.
+     */
+    private Player player;
+
+    /**
+     * Creates a small level with two pellets to the east of the player.
+     */
+    @BeforeEach
+    void setUp() {
+        MapParser parser = new MapParser(
+            new LevelFactory(SPRITES, new GhostFactory(SPRITES), new DefaultPointCalculator()),
+            new BoardFactory(SPRITES));
+        level = parser.parseMap(Lists.newArrayList("#####", "#P..#", "#####"));
+        player = new PlayerFactory(SPRITES).createPacMan();
+        level.registerPlayer(player);
+        level.start();
+    }
+
+    /**
+     * Pellets placed by the parser are counted when the level is created.
+     */
+    @Test
+    void initialCount() {
+        assertThat(level.remainingPellets()).isEqualTo(2);
+    }
+
+    /**
+     * Pellets are bits of the pellet layer, not units on their squares.
+     */
+    @Test
+    void pelletsInLayer() {
+        Square square = level.getBoard().squareAt(2, 1);
+        assertThat(square.getOccupants()).isEmpty();
+        assertThat(level.getPellets().contains(level.getBoard().indexOf(square))).isTrue();
+    }
+
+    /**
+     * Consuming a pellet lowers the count by one.
+     */
+    @Test
+    void consumeOne() {
+        level.move(player, Direction.EAST);
+        assertThat(level.remainingPellets()).isEqualTo(1);
+        assertThat(player.getScore()).isEqualTo(level.getPellets().valueAt(
+            level.getBoard().indexOf(player.getSquare().getSquareAt(Direction.EAST))));
+    }
+
+    /**
+     * Moving onto an empty square leaves the count unchanged.
+     */
+    @Test
+    void moveWithoutPellet() {
+        level.move(player, Direction.EAST);
+        level.move(player, Direction.WEST);
+        assertThat(level.remainingPellets()).isEqualTo(1);
+    }
+
+    /**
+     * Moving into a wall leaves the count unchanged.
+     */
+    @Test
+    void bumpIntoWall() {
+        level.move(player, Direction.NORTH);
+        assertThat(level.remainingPellets()).isEqualTo(2);
+    }
+
+    /**
+     * Consuming every pellet brings the count down to zero.
+     */
+    @Test
+    void consumeAll() {
+        level.move(player, Direction.EAST);
+        level.move(player, Direction.EAST);
+        assertThat(level.remainingPellets()).isZero();
+    }
+}
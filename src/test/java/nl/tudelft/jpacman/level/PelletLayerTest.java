@@ -0,0 +1,114 @@
+package nl.tudelft.jpacman.level;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests the bit set of squares holding a pellet.
+ */
+class PelletLayerTest {
+    private static final int SIZE = 130;
+    private static final int FIRST = 3;
+    private static final int LAST = SIZE - 1;
+    private static final int VALUE = 10;
+    private static final int BONUS = 50;
+
+    /**
+     * The layer under test.
+     */
+    private PelletLayer layer;
+
+    /**
+     * Creates a layer spanning three words.
+     */
+    @BeforeEach
+    void setUp() {
+        layer = new PelletLayer(SIZE);
+    }
+
+    /**
+     * A new layer holds no pellets.
+     */
+    @Test
+    void emptyInitially() {
+        assertThat(layer.count()).isZero();
+        assertThat(layer.contains(FIRST)).isFalse();
+    }
+
+    /**
+     * Pellets are counted across words.
+     */
+    @Test
+    void countAcrossWords() {
+        layer.add(FIRST, VALUE);
+        layer.add(LAST, VALUE);
+
+        assertThat(layer.count()).isEqualTo(2);
+        assertThat(layer.contains(FIRST)).isTrue();
+        assertThat(layer.contains(LAST)).isTrue();
+        assertThat(layer.contains(FIRST + Long.SIZE)).isFalse();
+    }
+
+    /**
+     * Removing a pellet clears only its own square.
+     */
+    @Test
+    void remove() {
+        layer.add(FIRST, VALUE);
+        layer.add(LAST, VALUE);
+
+        assertThat(layer.remove(FIRST)).isTrue();
+        assertThat(layer.remove(FIRST)).isFalse();
+        assertThat(layer.count()).isEqualTo(1);
+        assertThat(layer.contains(LAST)).isTrue();
+    }
+
+    /**
+     * A removed pellet is put back with the value it had.
+     */
+    @Test
+    void flipBack() {
+        layer.add(FIRST, VALUE);
+        layer.add(LAST, BONUS);
+        layer.remove(LAST);
+
+        assertThat(layer.flip(LAST)).isTrue();
+        assertThat(layer.valueAt(LAST)).isEqualTo(BONUS);
+        assertThat(layer.flip(FIRST)).isFalse();
+        assertThat(layer.count()).isEqualTo(1);
+    }
+
+    /**
+     * Pellets of different values keep their own value.
+     */
+    @Test
+    void values() {
+        layer.add(FIRST, VALUE);
+        layer.add(LAST, BONUS);
+
+        assertThat(layer.valueAt(FIRST)).isEqualTo(VALUE);
+        assertThat(layer.valueAt(LAST)).isEqualTo(BONUS);
+    }
+
+    /**
+     * Only the squares that changed since a copy was taken are visited.
+     */
+    @Test
+    void differences() {
+        layer.add(FIRST, VALUE);
+        layer.add(LAST, VALUE);
+        long[] copy = layer.copyWords();
+        layer.remove(LAST);
+        layer.add(FIRST + Long.SIZE, VALUE);
+
+        List<Integer> changed = new ArrayList<>();
+        layer.forEachDifference(copy, changed::add);
+
+        assertThat(changed).containsExactly(FIRST + Long.SIZE, LAST);
+    }
+}
@@ -0,0 +1,122 @@
+package nl.tudelft.jpacman.level;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import nl.tudelft.jpacman.level.TickScheduler.ScheduledTask;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests the timing wheel that drives the NPCs.
+ */
+class TickSchedulerTest {
+    private static final long DELAY = 20L;
+    private static final long TIMEOUT = 2L;
+    private static final int RUNS = 3;
+
+    /**
+     * The scheduler under test.
+     */
+    private TickScheduler scheduler;
+
+    /**
+     * Creates a fresh scheduler.
+     */
+    @BeforeEach
+    void setUp() {
+        scheduler = new TickScheduler();
+    }
+
+    /**
+     * A task keeps running for as long as it returns a delay.
+     *
+     * @throws InterruptedException when interrupted while waiting.
+     */
+    @Test
+    void recurringTask() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(RUNS);
+        scheduler.schedule(() -> {
+            latch.countDown();
+            if (latch.getCount() == 0) {
+                return -1L;
+            }
+            return DELAY;
+        }, DELAY);
+
+        assertThat(latch.await(TIMEOUT, TimeUnit.SECONDS)).isTrue();
+        assertThat(scheduler.getExecutions()).isEqualTo(RUNS);
+    }
+
+    /**
+     * A task that returns a negative delay is removed from the scheduler.
+     *
+     * @throws InterruptedException when interrupted while waiting.
+     */
+    @Test
+    void oneShotTask() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        scheduler.schedule(() -> {
+            latch.countDown();
+            return -1L;
+        }, DELAY);
+
+        assertThat(latch.await(TIMEOUT, TimeUnit.SECONDS)).isTrue();
+        Thread.sleep(DELAY);
+        assertThat(scheduler.getPendingTasks()).isZero();
+    }
+
+    /**
+     * A cancelled task never runs.
+     *
+     * @throws InterruptedException when interrupted while waiting.
+     */
+    @Test
+    void cancelledTask() throws InterruptedException {
+        AtomicInteger runs = new AtomicInteger();
+        ScheduledTask task = scheduler.schedule(() -> {
+            runs.incrementAndGet();
+            return DELAY;
+        }, DELAY * 2);
+        task.cancel();
+
+        Thread.sleep(DELAY * RUNS);
+        assertThat(runs.get()).isZero();
+        assertThat(scheduler.getPendingTasks()).isZero();
+    }
+
+    /**
+     * A task that throws is dropped without stopping the other tasks.
+     */
+    @Test
+    void failingTask() {
+        TickScheduler manual = TickScheduler.manual();
+        AtomicInteger runs = new AtomicInteger();
+        manual.schedule(() -> {
+            throw new IllegalStateException("Task failed.");
+        }, 0L);
+        manual.schedule(() -> {
+            runs.incrementAndGet();
+            return 0L;
+        }, 0L);
+
+        for (int i = 0; i < RUNS; i++) {
+            manual.advance();
+        }
+        assertThat(runs.get()).isEqualTo(RUNS);
+        assertThat(manual.getPendingTasks()).isEqualTo(1);
+    }
+
+    /**
+     * Lag statistics are empty before anything has run.
+     */
+    @Test
+    void noLagInitially() {
+        assertThat(scheduler.getExecutions()).isZero();
+        assertThat(scheduler.getAverageLag()).isZero();
+        assertThat(scheduler.getMaximumLag()).isZero();
+    }
+}
@@ -0,0 +1,160 @@
+package nl.tudelft.jpacman.npc;
+
+import com.google.common.collect.Lists;
+import nl.tudelft.jpacman.board.Board;
+import nl.tudelft.jpacman.board.BoardFactory;
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.board.Unit;
+import nl.tudelft.jpacman.level.LevelFactory;
+import nl.tudelft.jpacman.level.MapGenerator;
+import nl.tudelft.jpacman.level.MapParser;
+import nl.tudelft.jpacman.npc.ghost.GhostFactory;
+import nl.tudelft.jpacman.npc.ghost.Navigation;
+import nl.tudelft.jpacman.points.PointCalculator;
+import nl.tudelft.jpacman.sprite.PacManSprites;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests the precomputed paths of a {@link DistanceTable}.
+ */
+@SuppressWarnings("magicnumber")
+class DistanceTableTest {
+
+    /**
+     * The rows of the board.
+     */
+    private static final String[] ROWS = {
+        "#######",
+        "#   # #",
+        "# # ###",
+        "# #   #",
+        "#######"};
+
+    /**
+     * A board with a winding corridor and an enclosed square in the top
+     * right corner.
+     */
+    private Board board;
+
+    /**
+     * The table under test.
+     */
+    private DistanceTable table;
+
+    /**
+     * The parser that created the board.
+     */
+    private MapParser parser;
+
+    /**
+     * Parses the board and computes its table.
+     */
+    @BeforeEach
+    void setUp() {
+        PacManSprites sprites = new PacManSprites();
+        LevelFactory levelFactory = new LevelFactory(
+            sprites,
+            new GhostFactory(sprites),
+            mock(PointCalculator.class));
+        parser = new MapParser(levelFactory, new BoardFactory(sprites));
+        board = parser.parseMap(Lists.newArrayList(ROWS)).getBoard();
+        table = DistanceTable.compute(board, mock(Unit.class));
+    }
+
+    /**
+     * The table agrees with a breadth first search between all squares.
+     */
+    @Test
+    void sameAsSearch() {
+        Unit traveller = mock(Unit.class);
+        for (int from = 0; from < board.getSize(); from++) {
+            for (int to = 0; to < board.getSize(); to++) {
+                Square start = board.squareAt(from);
+                Square destination = board.squareAt(to);
+                assertThat(table.shortestPath(start, destination))
+                    .isEqualTo(Navigation.shortestPath(start, destination, traveller));
+            }
+        }
+    }
+
+    /**
+     * Distances and steps are looked up directly.
+     */
+    @Test
+    void lookUpStep() {
+        Square start = board.squareAt(1, 3);
+        Square destination = board.squareAt(5, 3);
+
+        assertThat(table.distance(start, destination)).isEqualTo(8);
+        assertThat(table.nextStep(start, destination)).isEqualTo(Direction.NORTH);
+    }
+
+    /**
+     * There is no step towards an enclosed square.
+     */
+    @Test
+    void unreachable() {
+        Square start = board.squareAt(1, 1);
+        Square enclosed = board.squareAt(5, 1);
+
+        assertThat(table.distance(start, enclosed)).isEqualTo(DistanceTable.UNREACHABLE);
+        assertThat(table.nextStep(start, enclosed)).isNull();
+        assertThat(table.shortestPath(start, enclosed)).isNull();
+    }
+
+    /**
+     * The footprint grows with the square of the board size.
+     */
+    @Test
+    void footprint() {
+        assertThat(table.getFootprint())
+            .isEqualTo(DistanceTable.estimateFootprint(board.getSize()));
+        assertThat(DistanceTable.estimateFootprint(2))
+            .isEqualTo(4 * DistanceTable.estimateFootprint(1));
+    }
+
+    /**
+     * A board with the same walls shares the paths of the table.
+     */
+    @Test
+    void sharedWithSameWalls() {
+        Board copy = parser.parseMap(Lists.newArrayList(ROWS)).getBoard();
+
+        DistanceTable shared = table.forBoard(copy, mock(Unit.class));
+
+        assertThat(shared.getBoard()).isSameAs(copy);
+        assertThat(shared.distance(copy.squareAt(1, 3), copy.squareAt(5, 3))).isEqualTo(8);
+        assertThat(shared.nextStep(copy.squareAt(1, 3), copy.squareAt(5, 3)))
+            .isEqualTo(Direction.NORTH);
+    }
+
+    /**
+     * A board with other walls cannot share the table.
+     */
+    @Test
+    void notSharedWithOtherWalls() {
+        String[] rows = ROWS.clone();
+        rows[1] = "#     #";
+        Board other = parser.parseMap(Lists.newArrayList(rows)).getBoard();
+
+        assertThat(table.forBoard(other, mock(Unit.class))).isNull();
+    }
+
+    /**
+     * A board too large for the distances to fit is refused.
+     */
+    @Test
+    void tooLarge() {
+        Board large = parser.parseMap(new MapGenerator(182, 181, 1L).generate()).getBoard();
+
+        assertThat(large.getSize()).isGreaterThan(DistanceTable.MAX_CELLS);
+        assertThatThrownBy(() -> DistanceTable.compute(large, mock(Unit.class)))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,109 @@
+package nl.tudelft.jpacman.npc;
+
+import com.google.common.collect.Lists;
+import nl.tudelft.jpacman.board.Board;
+import nl.tudelft.jpacman.board.BoardFactory;
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.board.Unit;
+import nl.tudelft.jpacman.level.LevelFactory;
+import nl.tudelft.jpacman.level.MapParser;
+import nl.tudelft.jpacman.npc.ghost.GhostFactory;
+import nl.tudelft.jpacman.points.PointCalculator;
+import nl.tudelft.jpacman.sprite.PacManSprites;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests the flow fields that ghosts share to chase a unit.
+ */
+@SuppressWarnings("magicnumber")
+class FlowFieldsTest {
+
+    /**
+     * The board of the test, a corridor with a pellet at its west end.
+     */
+    private Board board;
+
+    /**
+     * The pellet being chased.
+     */
+    private Unit target;
+
+    /**
+     * The fields under test.
+     */
+    private FlowFields fields;
+
+    /**
+     * Parses a small map and creates fresh fields.
+     */
+    @BeforeEach
+    void setUp() {
+        PacManSprites sprites = new PacManSprites();
+        LevelFactory levelFactory = new LevelFactory(
+            sprites,
+            new GhostFactory(sprites),
+            mock(PointCalculator.class));
+        MapParser parser = new MapParser(levelFactory, new BoardFactory(sprites));
+        board = parser
+            .parseMap(Lists.newArrayList("#####", "#   #", "#####"))
+            .getBoard();
+        target = levelFactory.createPellet();
+        target.occupy(board.squareAt(1, 1));
+        fields = new FlowFields();
+    }
+
+    /**
+     * The field gives the distance and first step towards the target.
+     */
+    @Test
+    void leadsToTarget() {
+        FlowField field = fields.towards(target, mock(Unit.class));
+
+        assertThat(field.distanceFrom(board.squareAt(3, 1))).isEqualTo(2);
+        assertThat(field.nextStep(board.squareAt(3, 1), mock(Unit.class)))
+            .isEqualTo(Direction.WEST);
+        assertThat(field.nextStep(board.squareAt(1, 1), mock(Unit.class))).isNull();
+    }
+
+    /**
+     * Walls cannot be reached.
+     */
+    @Test
+    void wallsUnreachable() {
+        FlowField field = fields.towards(target, mock(Unit.class));
+
+        assertThat(field.distanceFrom(board.squareAt(0, 0)))
+            .isEqualTo(FlowField.UNREACHABLE);
+        assertThat(field.nextStep(board.squareAt(0, 0), mock(Unit.class))).isNull();
+    }
+
+    /**
+     * Chasers share the field for as long as the target stays put.
+     */
+    @Test
+    void sharedWhileTargetStays() {
+        FlowField first = fields.towards(target, mock(Unit.class));
+        FlowField second = fields.towards(target, mock(Unit.class));
+
+        assertThat(second).isSameAs(first);
+        assertThat(fields.getRequests()).isEqualTo(2);
+        assertThat(fields.getComputations()).isEqualTo(1);
+    }
+
+    /**
+     * The field is recomputed once the target moves.
+     */
+    @Test
+    void recomputedAfterMove() {
+        fields.towards(target, mock(Unit.class));
+        target.occupy(board.squareAt(3, 1));
+        FlowField field = fields.towards(target, mock(Unit.class));
+
+        assertThat(fields.getComputations()).isEqualTo(2);
+        assertThat(field.distanceFrom(board.squareAt(1, 1))).isEqualTo(2);
+    }
+}
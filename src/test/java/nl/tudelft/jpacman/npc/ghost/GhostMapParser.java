@@ -4,6 +4,7 @@ import nl.tudelft.jpacman.board.BoardFactory;
 import nl.tudelft.jpacman.board.Square;
 import nl.tudelft.jpacman.level.LevelFactory;
 import nl.tudelft.jpacman.level.MapParser;
+import nl.tudelft.jpacman.level.PelletLayer;
 import nl.tudelft.jpacman.npc.Ghost;
 
 import java.util.List;
@@ -34,8 +35,8 @@ public final class GhostMapParser extends MapParser {
     //This method only supports clyde at default
     //You should add Blinky, Pinky and Inky ghosts by yourself.
     @Override
-    protected void addSquare(Square[][] grid, List<Ghost> ghosts,
-                             List<Square> startPositions, int x, int y, char c) {
+    protected void addSquare(Square[][] grid, List<Ghost> ghosts, List<Square> startPositions,
+                             PelletLayer pellets, int x, int y, char c) {
         switch (c) {
             case 'B':
                 grid[x][y] = makeGhostSquare(ghosts, ghostFactory.createBlinky());
@@ -50,7 +51,7 @@ public final class GhostMapParser extends MapParser {
                 grid[x][y] = makeGhostSquare(ghosts, ghostFactory.createClyde());
                 break;
             default:
-                super.addSquare(grid, ghosts, startPositions, x, y, c);
+                super.addSquare(grid, ghosts, startPositions, pellets, x, y, c);
         }
     }
 }
@@ -12,6 +12,8 @@ import nl.tudelft.jpacman.sprite.PacManSprites;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Optional;
 
@@ -196,4 +198,25 @@ class InkyTests {
 
         assertThat(aiMove).isEmpty();
     }
+
+    /**
+     * Ghosts are listed column by column, also the ones the parser adds
+     * itself, however the map is read.
+     */
+    @Test
+    void ghostsInColumnOrder() {
+        List<String> map = Lists.newArrayList(
+            "# B#",
+            "#I P"
+        );
+
+        Level level = createMap(map, false);
+        Level fromBytes = ghostMapParser.parseMap(
+            ByteBuffer.wrap(String.join("\n", map).getBytes(StandardCharsets.US_ASCII)));
+
+        assertThat(level.getGhosts()).extracting(Object::getClass)
+            .containsExactly(Inky.class, Blinky.class);
+        assertThat(fromBytes.getGhosts()).extracting(Object::getClass)
+            .containsExactly(Inky.class, Blinky.class);
+    }
 }
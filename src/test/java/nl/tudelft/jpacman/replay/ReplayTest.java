@@ -0,0 +1,116 @@
+package nl.tudelft.jpacman.replay;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.board.Unit;
+import nl.tudelft.jpacman.level.Level;
+import nl.tudelft.jpacman.level.Player;
+import nl.tudelft.jpacman.simulation.Simulation;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests recording games and playing them back.
+ */
+@SuppressWarnings("magicnumber")
+class ReplayTest {
+
+    /**
+     * A map with a wandering ghost, and a player that walks back and forth.
+     */
+    private static final List<String> MAP = Arrays.asList(
+        "##########",
+        "#P...#G  #",
+        "#....#   #",
+        "##########");
+
+    /**
+     * Playing back a recorded game on a fresh level puts all units where
+     * they ended up in the recorded game, without advancing the clock.
+     *
+     * @throws IOException
+     *             Never.
+     */
+    @Test
+    void playBackRecordedGame() throws IOException {
+        Simulation recorded = Simulation.of(MAP, (level, player) -> zigzag(player), 7L);
+        ReplayRecorder recorder = ReplayRecorder.attach(recorded.getLevel());
+        recorded.run(2_000L);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        recorder.writeTo(out);
+
+        Replay replay = Replay.read(new ByteArrayInputStream(out.toByteArray()));
+        Simulation fresh = Simulation.of(MAP, (level, player) -> null);
+        replay.playOn(fresh.getLevel());
+
+        assertThat(replay.getUnitCount()).isEqualTo(2);
+        assertThat(replay.getMoveCount()).isEqualTo(recorder.getMoveCount()).isPositive();
+        assertThat(replay.getDuration()).isPositive().isLessThanOrEqualTo(2_000L);
+        assertThat(fresh.getLevel().getScheduler().getCurrentTick()).isZero();
+        assertThat(squares(fresh.getLevel())).isEqualTo(squares(recorded.getLevel()));
+        assertThat(fresh.getPlayer().getScore()).isEqualTo(recorded.getPlayer().getScore());
+        assertThat(fresh.getLevel().remainingPellets())
+            .isEqualTo(recorded.getLevel().remainingPellets());
+    }
+
+    /**
+     * Logs that do not start like a replay are rejected.
+     */
+    @Test
+    void rejectForeignLog() {
+        assertThatThrownBy(() -> Replay.read(new ByteArrayInputStream(new byte[] {1, 2})))
+            .isInstanceOf(IOException.class);
+    }
+
+    /**
+     * Logs that end in the middle of a move are rejected.
+     */
+    @Test
+    void rejectTruncatedLog() {
+        byte[] log = {'J', 'P', 'R', '1', 1, (byte) 0x80};
+        assertThatThrownBy(() -> Replay.read(new ByteArrayInputStream(log)))
+            .isInstanceOf(IOException.class);
+    }
+
+    /**
+     * Moves east until it hits a wall, then west until it hits a wall.
+     *
+     * @param player
+     *            The player to move.
+     * @return The direction to move the player in.
+     */
+    private static Direction zigzag(Player player) {
+        if (player.getSquare().getSquareAt(player.getDirection()).isAccessibleTo(player)) {
+            return player.getDirection();
+        }
+        if (player.getDirection() == Direction.EAST) {
+            return Direction.WEST;
+        }
+        return Direction.EAST;
+    }
+
+    /**
+     * @param level
+     *            The level to inspect.
+     * @return The coordinates and directions of the player and the ghosts on
+     *         a level.
+     */
+    private static List<String> squares(Level level) {
+        List<Unit> units = new ArrayList<>(level.getPlayers());
+        units.addAll(level.getGhosts());
+        List<String> squares = new ArrayList<>();
+        for (Unit unit : units) {
+            squares.add(unit.getSquare().getX() + "," + unit.getSquare().getY()
+                + " " + unit.getDirection());
+        }
+        return squares;
+    }
+}
@@ -0,0 +1,89 @@
+package nl.tudelft.jpacman.simulation;
+
+import java.util.Arrays;
+import java.util.List;
+
+import nl.tudelft.jpacman.Launcher;
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.level.TickScheduler;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests playing batches of games in parallel.
+ */
+@SuppressWarnings("magicnumber")
+class BatchRunnerTest {
+
+    /**
+     * A map the player clears by moving east.
+     */
+    private static final List<String> CORRIDOR = Arrays.asList("#####", "#P..#", "#####");
+
+    /**
+     * A map on which a ghost catches a player that stands still.
+     */
+    private static final List<String> HUNTED = Arrays.asList("#######", "#P.  G#", "#######");
+
+    /**
+     * Even games are won and odd games are lost, whatever thread plays them.
+     *
+     * @throws InterruptedException when interrupted while waiting for the games.
+     */
+    @Test
+    void gamesArePlayedIndependently() throws InterruptedException {
+        BatchRunner runner = new BatchRunner(number -> {
+            if (number % 2 == 0) {
+                return Simulation.of(CORRIDOR, (level, player) -> Direction.EAST);
+            }
+            return Simulation.of(HUNTED, (level, player) -> null);
+        }, 4);
+
+        BatchResult result = runner.run(20, 10_000L);
+
+        assertThat(result.getGames()).hasSize(20);
+        assertThat(result.getWins()).isEqualTo(10);
+        assertThat(result.getLosses()).isEqualTo(10);
+        for (int i = 0; i < 20; i += 2) {
+            assertThat(result.getGames().get(i).isWon()).isTrue();
+            assertThat(result.getGames().get(i).getScore()).isEqualTo(20);
+        }
+        assertThat(result.getAverageScore()).isEqualTo(10.0);
+    }
+
+    /**
+     * Unfinished games count as losses and last as long as allowed.
+     *
+     * @throws InterruptedException when interrupted while waiting for the games.
+     */
+    @Test
+    void unfinishedGamesAreLost() throws InterruptedException {
+        BatchRunner runner = new BatchRunner(
+            number -> Simulation.of(CORRIDOR, (level, player) -> null));
+
+        BatchResult result = runner.run(3, 50L);
+
+        assertThat(result.getWins()).isZero();
+        assertThat(result.getTotalTicks()).isEqualTo(150L);
+    }
+
+    /**
+     * Games built by launchers with a manual scheduler are played like
+     * simulations of their map.
+     *
+     * @throws InterruptedException when interrupted while waiting for the games.
+     */
+    @Test
+    void launcherGames() throws InterruptedException {
+        BatchRunner runner = BatchRunner.ofGames(number -> new Launcher()
+            .withMapFile("/simplemap.txt")
+            .withScheduler(TickScheduler.manual())
+            .makeGame(), (level, player) -> Direction.EAST);
+
+        BatchResult result = runner.run(4, 1_000L);
+
+        assertThat(result.getWins()).isEqualTo(4);
+        assertThat(result.getAverageScore()).isEqualTo(10.0);
+    }
+}
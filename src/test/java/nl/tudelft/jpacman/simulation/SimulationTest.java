@@ -0,0 +1,110 @@
+package nl.tudelft.jpacman.simulation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.npc.Ghost;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests playing levels in logical time.
+ */
+class SimulationTest {
+
+    /**
+     * The ticks between two moves of the player.
+     */
+    private static final long PLAYER_TICKS = 20L;
+
+    /**
+     * An upper bound on the ticks needed to finish the test maps.
+     */
+    private static final long MAXIMUM_TICKS = 10_000L;
+
+    /**
+     * The seed of the seeded simulations.
+     */
+    private static final long SEED = 42L;
+
+    /**
+     * A player that keeps moving east eats the pellets in its way, one per
+     * player interval.
+     */
+    @Test
+    void eatAllPellets() {
+        Simulation simulation = Simulation.of(
+            Arrays.asList("#####", "#P..#", "#####"), (level, player) -> Direction.EAST);
+
+        long ticks = simulation.run(MAXIMUM_TICKS);
+
+        assertThat(simulation.isFinished()).isTrue();
+        assertThat(simulation.getLevel().remainingPellets()).isZero();
+        assertThat(ticks).isEqualTo(2 * PLAYER_TICKS);
+        assertThat(simulation.getPlayer().isAlive()).isTrue();
+    }
+
+    /**
+     * A ghost catches a player that stands still, without waiting for the
+     * clock.
+     */
+    @Test
+    void caughtByGhost() {
+        Simulation simulation = Simulation.of(
+            Arrays.asList("#######", "#P.  G#", "#######"), (level, player) -> null);
+
+        simulation.run(MAXIMUM_TICKS);
+
+        assertThat(simulation.isFinished()).isTrue();
+        assertThat(simulation.getPlayer().isAlive()).isFalse();
+        assertThat(simulation.getTicks()).isLessThan(MAXIMUM_TICKS);
+    }
+
+    /**
+     * The simulation stops after the given number of ticks.
+     */
+    @Test
+    void limitedRun() {
+        Simulation simulation = Simulation.of(
+            Arrays.asList("#####", "#P..#", "#####"), (level, player) -> null);
+
+        assertThat(simulation.run(PLAYER_TICKS)).isEqualTo(PLAYER_TICKS);
+        assertThat(simulation.getElapsedTime())
+            .isEqualTo(PLAYER_TICKS * simulation.getLevel().getScheduler().getResolution());
+        assertThat(simulation.isFinished()).isFalse();
+    }
+
+    /**
+     * A ghost that cannot reach the player wanders around randomly, but the
+     * same way in every simulation with the same seed.
+     */
+    @Test
+    void sameSeedSameGame() {
+        List<String> map = Arrays.asList("##########", "#P.#G    #", "##########");
+
+        assertThat(wanderingGhost(map, SEED)).isEqualTo(wanderingGhost(map, SEED));
+    }
+
+    /**
+     * Records the squares a ghost visits in a seeded simulation.
+     *
+     * @param map
+     *            The map with a single ghost.
+     * @param seed
+     *            The seed of the simulation.
+     * @return The column of the ghost after every tick.
+     */
+    private List<Integer> wanderingGhost(List<String> map, long seed) {
+        Simulation simulation = Simulation.of(map, (level, player) -> null, seed);
+        Ghost ghost = simulation.getLevel().getBoard().getUnits(Ghost.class).get(0);
+        List<Integer> columns = new ArrayList<>();
+        for (int i = 0; i < MAXIMUM_TICKS / PLAYER_TICKS; i++) {
+            simulation.step();
+            columns.add(ghost.getSquare().getX());
+        }
+        return columns;
+    }
+}
@@ -0,0 +1,120 @@
+package nl.tudelft.jpacman.ui;
+
+import java.awt.Canvas;
+import java.awt.Dimension;
+import java.awt.Graphics;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+
+import nl.tudelft.jpacman.board.BoardFactory;
+import nl.tudelft.jpacman.level.Level;
+import nl.tudelft.jpacman.level.LevelFactory;
+import nl.tudelft.jpacman.level.MapParser;
+import nl.tudelft.jpacman.npc.ghost.GhostFactory;
+import nl.tudelft.jpacman.points.DefaultPointCalculator;
+import nl.tudelft.jpacman.sprite.PacManSprites;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests that the cached background of a {@link BoardRenderer} is drawn
+ * again whenever the board or the size it is drawn at changes.
+ */
+@SuppressWarnings("magicnumber")
+class BoardRendererTest {
+
+    /**
+     * The size of the board at the initial scale.
+     */
+    private static final Dimension SMALL = new Dimension(80, 48);
+
+    /**
+     * The size of the board at twice the initial scale.
+     */
+    private static final Dimension LARGE = new Dimension(160, 96);
+
+    /**
+     * A level with a corridor.
+     */
+    private Level corridor;
+
+    /**
+     * A level as large as the corridor, but with a wall in it.
+     */
+    private Level walled;
+
+    /**
+     * Parses both levels.
+     */
+    @BeforeEach
+    void setUp() {
+        PacManSprites sprites = new PacManSprites();
+        MapParser parser = new MapParser(
+            new LevelFactory(sprites, new GhostFactory(sprites), new DefaultPointCalculator()),
+            new BoardFactory(sprites));
+        corridor = parser.parseMap(Arrays.asList("#####", "#P. #", "#####"));
+        walled = parser.parseMap(Arrays.asList("#####", "#P.##", "#####"));
+    }
+
+    /**
+     * A board drawn at another size looks as if it was drawn at that size
+     * right away.
+     */
+    @Test
+    void resized() {
+        BoardRenderer renderer = new BoardRenderer(new Canvas());
+        render(renderer, corridor, SMALL);
+
+        BufferedImage resized = render(renderer, corridor, LARGE);
+
+        assertThat(pixels(resized))
+            .isEqualTo(pixels(render(new BoardRenderer(new Canvas()), corridor, LARGE)));
+    }
+
+    /**
+     * Another board drawn at the same size does not show the squares of the
+     * board drawn before.
+     */
+    @Test
+    void otherBoard() {
+        BoardRenderer renderer = new BoardRenderer(new Canvas());
+        BufferedImage before = render(renderer, corridor, SMALL);
+
+        BufferedImage after = render(renderer, walled, SMALL);
+
+        assertThat(pixels(after)).isNotEqualTo(pixels(before))
+            .isEqualTo(pixels(render(new BoardRenderer(new Canvas()), walled, SMALL)));
+    }
+
+    /**
+     * Renders a level into a new image.
+     *
+     * @param renderer
+     *            The renderer to use.
+     * @param level
+     *            The level to render.
+     * @param size
+     *            The size of the image.
+     * @return The rendered image.
+     */
+    private static BufferedImage render(BoardRenderer renderer, Level level, Dimension size) {
+        BufferedImage image = new BufferedImage(size.width, size.height,
+            BufferedImage.TYPE_INT_RGB);
+        Graphics graphics = image.getGraphics();
+        renderer.render(level, graphics, size);
+        graphics.dispose();
+        return image;
+    }
+
+    /**
+     * @param image
+     *            The image to read.
+     * @return The colours of all pixels of the image.
+     */
+    private static int[] pixels(BufferedImage image) {
+        return image.getRGB(0, 0, image.getWidth(), image.getHeight(), null, 0,
+            image.getWidth());
+    }
+}
@@ -0,0 +1,89 @@
+package nl.tudelft.jpacman.ui;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests drawing frames at a target rate and measuring them.
+ */
+@SuppressWarnings("magicnumber")
+class FrameLoopTest {
+
+    /**
+     * Percentiles are the upper bounds of the buckets the frames fall in.
+     */
+    @Test
+    void histogram() {
+        FrameTimes times = new FrameTimes();
+        for (int i = 0; i < 98; i++) {
+            times.record(TimeUnit.MICROSECONDS.toNanos(16_500));
+        }
+        times.record(TimeUnit.MILLISECONDS.toNanos(40));
+        times.record(TimeUnit.SECONDS.toNanos(1));
+
+        assertThat(times.getFrameCount()).isEqualTo(100);
+        assertThat(times.percentile(0.5)).isEqualTo(17);
+        assertThat(times.percentile(0.99)).isEqualTo(41);
+        assertThat(times.percentile(1)).isEqualTo(100);
+        assertThat(times.getLongestMillis()).isEqualTo(1_000.0);
+        assertThat(times.getHistogram()[16]).isEqualTo(98);
+    }
+
+    /**
+     * Nothing recorded gives zeros rather than failures.
+     */
+    @Test
+    void empty() {
+        FrameTimes times = new FrameTimes();
+        assertThat(times.percentile(0.5)).isZero();
+        assertThat(times.getAverageMillis()).isZero();
+    }
+
+    /**
+     * A frame that takes several intervals makes the loop skip the frames
+     * that became overdue, rather than draw them all at once.
+     *
+     * @throws InterruptedException
+     *             If the test is interrupted.
+     */
+    @Test
+    void skipOverdueFrames() throws InterruptedException {
+        FrameTimes times = new FrameTimes();
+        AtomicInteger frames = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(1);
+        FrameLoop[] loop = new FrameLoop[1];
+        loop[0] = new FrameLoop(100, () -> {
+            if (frames.incrementAndGet() == 2) {
+                sleep(55L);
+            } else if (frames.get() == 5) {
+                loop[0].stop();
+                done.countDown();
+            }
+        }, times);
+
+        loop[0].start();
+
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(times.getSkippedFrames()).isGreaterThanOrEqualTo(4);
+        assertThat(times.getLongestMillis()).isGreaterThanOrEqualTo(55.0);
+    }
+
+    /**
+     * Sleeps, ignoring interruptions.
+     *
+     * @param millis
+     *            The time to sleep.
+     */
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}